@@ -0,0 +1,80 @@
+package game.bench;
+
+import game.obj.Bullet;
+import game.obj.Rocket;
+import java.awt.Color;
+import java.awt.geom.Area;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Every bullet tested against every rocket, once with the original
+ * {@code getShape()} and {@code Area.intersect} check and once with the hulls
+ * used by the game now. Entities are packed into a small square so a fair
+ * share of the pairs overlap.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionBenchmark {
+
+    @Param({"10", "50", "100"})
+    public int bullets;
+
+    @Param({"10", "50", "100"})
+    public int rockets;
+
+    private Bullet[] bulletList;
+    private Rocket[] rocketList;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1);
+        bulletList = new Bullet[bullets];
+        for (int i = 0; i < bullets; i++) {
+            bulletList[i] = new Bullet(random.nextInt(300), random.nextInt(300), random.nextInt(360), 8, 3f, Color.WHITE);
+        }
+        rocketList = new Rocket[rockets];
+        for (int i = 0; i < rockets; i++) {
+            rocketList[i] = new Rocket();
+            rocketList[i].changeLocation(random.nextInt(300), random.nextInt(300));
+            rocketList[i].changeAngle(random.nextInt(360));
+        }
+    }
+
+    @Benchmark
+    public int area() {
+        int hits = 0;
+        for (Bullet bullet : bulletList) {
+            for (Rocket rocket : rocketList) {
+                Area area = new Area(bullet.getShape());
+                area.intersect(rocket.getShape());
+                if (!area.isEmpty()) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int hull() {
+        int hits = 0;
+        for (Bullet bullet : bulletList) {
+            for (Rocket rocket : rocketList) {
+                if (bullet.getHull().intersects(rocket.getHull())) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,86 @@
+package game.bench;
+
+import game.component.PanelGame;
+import game.engine.Input;
+import game.engine.World;
+import game.obj.sound.Sound;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A complete playing-state frame at 1366x768: background, player, rockets,
+ * bullets, sparks and HUD. {@code count} is the number of rockets; the scene
+ * also carries as many bullets and a handful of explosions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FrameBenchmark {
+
+    private static final int WIDTH = 1366;
+    private static final int HEIGHT = 768;
+
+    @Param({"10", "100", "1000"})
+    public int count;
+
+    private PanelGame panel;
+    private BufferedImage image;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1);
+        World world = new World(WIDTH, HEIGHT, new IdleInput(), new Sound(false), random);
+        for (int i = 0; i < count; i++) {
+            world.spawnRocket(random.nextInt(WIDTH), random.nextInt(HEIGHT), random.nextInt(360));
+            world.spawnBullet(random.nextInt(WIDTH), random.nextInt(HEIGHT), random.nextInt(360), i % 10 == 0);
+        }
+        for (int i = 0; i < 10; i++) {
+            world.spawnExplosion(random.nextInt(WIDTH), random.nextInt(HEIGHT));
+        }
+        panel = new PanelGame();
+        image = panel.startOffscreen(world, WIDTH, HEIGHT);
+    }
+
+    @Benchmark
+    public BufferedImage frame() {
+        panel.drawFrame(0.5f);
+        return image;
+    }
+
+    private static class IdleInput implements Input {
+
+        @Override
+        public boolean isKey_left() {
+            return false;
+        }
+
+        @Override
+        public boolean isKey_right() {
+            return false;
+        }
+
+        @Override
+        public boolean isKey_space() {
+            return false;
+        }
+
+        @Override
+        public boolean isKey_j() {
+            return false;
+        }
+
+        @Override
+        public boolean isKey_k() {
+            return false;
+        }
+    }
+}
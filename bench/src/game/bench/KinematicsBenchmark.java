@@ -0,0 +1,59 @@
+package game.bench;
+
+import game.obj.Bullet;
+import game.obj.Rocket;
+import java.awt.Color;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * One simulation tick of movement for {@code count} bullets or rockets.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KinematicsBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int count;
+
+    private Bullet[] bullets;
+    private Rocket[] rockets;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1);
+        bullets = new Bullet[count];
+        rockets = new Rocket[count];
+        for (int i = 0; i < count; i++) {
+            bullets[i] = new Bullet(random.nextInt(1366), random.nextInt(768), random.nextInt(360), 8, 3f, Color.WHITE);
+            rockets[i] = new Rocket();
+            rockets[i].changeLocation(random.nextInt(1366), random.nextInt(768));
+            rockets[i].changeAngle(random.nextInt(360));
+        }
+    }
+
+    @Benchmark
+    public Bullet[] bulletUpdate() {
+        for (Bullet bullet : bullets) {
+            bullet.update();
+        }
+        return bullets;
+    }
+
+    @Benchmark
+    public Rocket[] rocketUpdate() {
+        for (Rocket rocket : rockets) {
+            rocket.update();
+        }
+        return rockets;
+    }
+}
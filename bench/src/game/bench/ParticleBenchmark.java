@@ -0,0 +1,83 @@
+package game.bench;
+
+import game.obj.ParticleSystem;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Explosion sparks updated and drawn into an offscreen image. Both sets are
+ * refilled to {@code count} before each iteration. The sparks that are
+ * updated travel too far to retire within an iteration, so the count stays
+ * steady without emitting inside the measured method.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParticleBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int count;
+
+    private static final Color SPARK = new Color(255, 70, 70);
+    // A spark moves about a quarter of a pixel per update, so this outlasts any iteration
+    private static final double UPDATE_DISTANCE = 1e9;
+
+    private ParticleSystem particles;
+    private ParticleSystem moving;
+    private BufferedImage image;
+    private Graphics2D g2;
+
+    @Setup
+    public void setup() {
+        particles = new ParticleSystem(count, new Random(1));
+        moving = new ParticleSystem(count, new Random(1));
+        image = new BufferedImage(1366, 768, BufferedImage.TYPE_INT_ARGB);
+        g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    }
+
+    @Setup(Level.Iteration)
+    public void refill() {
+        fill(particles, 75);
+        fill(moving, UPDATE_DISTANCE);
+    }
+
+    private void fill(ParticleSystem system, double maxDistance) {
+        system.clear();
+        Random random = new Random(2);
+        while (system.size() < count) {
+            system.emit(random.nextInt(1366), random.nextInt(768), 25, 10, maxDistance, 0.05f, SPARK);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2.dispose();
+    }
+
+    @Benchmark
+    public int update() {
+        moving.update();
+        return moving.size();
+    }
+
+    @Benchmark
+    public BufferedImage draw() {
+        particles.draw(g2, 0.5f);
+        return image;
+    }
+}
@@ -0,0 +1,4 @@
+package game.bench.jmh_generated;
+public class FrameBenchmark_jmhType extends FrameBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package game.bench.jmh_generated;
+public class KinematicsBenchmark_jmhType extends KinematicsBenchmark_jmhType_B3 {
+}
+
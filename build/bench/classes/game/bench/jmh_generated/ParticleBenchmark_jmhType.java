@@ -0,0 +1,4 @@
+package game.bench.jmh_generated;
+public class ParticleBenchmark_jmhType extends ParticleBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,75 @@
+package game.collision;
+
+/**
+ * Counts collision work for one tick: the pairs a brute-force pass would test,
+ * the pairs the broad phase reported as sharing a cell, the narrow-phase
+ * tests that actually ran, and the time the whole pass took.
+ */
+public class CollisionStats {
+
+    private long pairs;
+    private long candidates;
+    private long tests;
+    private long hits;
+    private long nanos;
+
+    public void reset() {
+        pairs = 0;
+        candidates = 0;
+        tests = 0;
+        hits = 0;
+        nanos = 0;
+    }
+
+    public void addPairs(long count) {
+        pairs += count;
+    }
+
+    public void addCandidates(long count) {
+        candidates += count;
+    }
+
+    public void addTest() {
+        tests++;
+    }
+
+    public void addHit() {
+        hits++;
+    }
+
+    public void addNanos(long time) {
+        nanos += time;
+    }
+
+    public long getPairs() {
+        return pairs;
+    }
+
+    public long getCandidates() {
+        return candidates;
+    }
+
+    public long getTests() {
+        return tests;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    // Grid build plus all queries and narrow-phase tests
+    public long getNanos() {
+        return nanos;
+    }
+
+    // Fraction of brute-force pairs that never reached the narrow phase
+    public double getPruningRatio() {
+        return pairs == 0 ? 0 : 1.0 - (double) tests / pairs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("pairs=%d candidates=%d tests=%d hits=%d pruned=%.1f%%",
+                pairs, candidates, tests, hits, getPruningRatio() * 100);
+    }
+}
@@ -0,0 +1,150 @@
+package game.collision;
+
+/**
+ * Per-entity world-space copy of a {@link HullShape}. The transformed vertices,
+ * edge normals and bounds are only recomputed when the position or angle
+ * changes, and {@link #intersects(Hull)} runs a bounding-circle check followed
+ * by a separating-axis test without allocating.
+ */
+public class Hull {
+
+    private HullShape shape;
+    private int count;
+    private double[] xs;
+    private double[] ys;
+    private double[] normalX;
+    private double[] normalY;
+    private double x = Double.NaN;
+    private double y = Double.NaN;
+    private double angle = Double.NaN;
+    private double centerX;
+    private double centerY;
+    private double minX;
+    private double minY;
+    private double maxX;
+    private double maxY;
+
+    public Hull(HullShape shape) {
+        setShape(shape);
+    }
+
+    public final void setShape(HullShape shape) {
+        int n = shape.getVertexCount();
+        if (xs == null || xs.length < n) {
+            xs = new double[n];
+            ys = new double[n];
+            normalX = new double[n];
+            normalY = new double[n];
+        }
+        this.shape = shape;
+        this.count = n;
+        x = Double.NaN;
+    }
+
+    public HullShape getShape() {
+        return shape;
+    }
+
+    // Same transform as the entities' getShape(): translate, then rotate about the pivot
+    public void update(double x, double y, double angle) {
+        if (x == this.x && y == this.y && angle == this.angle) {
+            return;
+        }
+        this.x = x;
+        this.y = y;
+        this.angle = angle;
+        double rad = Math.toRadians(angle);
+        double cos = Math.cos(rad);
+        double sin = Math.sin(rad);
+        double px = shape.getPivotX();
+        double py = shape.getPivotY();
+        centerX = x + px;
+        centerY = y + py;
+        minX = Double.MAX_VALUE;
+        minY = Double.MAX_VALUE;
+        maxX = -Double.MAX_VALUE;
+        maxY = -Double.MAX_VALUE;
+        int n = count;
+        for (int i = 0; i < n; i++) {
+            double lx = shape.getX(i) - px;
+            double ly = shape.getY(i) - py;
+            double wx = centerX + lx * cos - ly * sin;
+            double wy = centerY + lx * sin + ly * cos;
+            xs[i] = wx;
+            ys[i] = wy;
+            minX = Math.min(minX, wx);
+            minY = Math.min(minY, wy);
+            maxX = Math.max(maxX, wx);
+            maxY = Math.max(maxY, wy);
+        }
+        for (int i = 0; i < n; i++) {
+            int j = i + 1 == n ? 0 : i + 1;
+            normalX[i] = ys[i] - ys[j];
+            normalY[i] = xs[j] - xs[i];
+        }
+    }
+
+    public boolean intersects(Hull other) {
+        double dx = other.centerX - centerX;
+        double dy = other.centerY - centerY;
+        double r = shape.getRadius() + other.shape.getRadius();
+        if (dx * dx + dy * dy > r * r) {
+            return false;
+        }
+        return !separated(this, other) && !separated(other, this);
+    }
+
+    // True when one of a's edge normals separates the two hulls
+    private static boolean separated(Hull a, Hull b) {
+        for (int i = 0; i < a.count; i++) {
+            double nx = a.normalX[i];
+            double ny = a.normalY[i];
+            double minA = Double.MAX_VALUE;
+            double maxA = -Double.MAX_VALUE;
+            for (int k = 0; k < a.count; k++) {
+                double p = a.xs[k] * nx + a.ys[k] * ny;
+                minA = Math.min(minA, p);
+                maxA = Math.max(maxA, p);
+            }
+            double minB = Double.MAX_VALUE;
+            double maxB = -Double.MAX_VALUE;
+            for (int k = 0; k < b.count; k++) {
+                double p = b.xs[k] * nx + b.ys[k] * ny;
+                minB = Math.min(minB, p);
+                maxB = Math.max(maxB, p);
+            }
+            if (maxA < minB || maxB < minA) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public double getCenterX() {
+        return centerX;
+    }
+
+    public double getCenterY() {
+        return centerY;
+    }
+
+    public double getRadius() {
+        return shape.getRadius();
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+}
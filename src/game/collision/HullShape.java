@@ -0,0 +1,122 @@
+package game.collision;
+
+import java.awt.Shape;
+import java.awt.geom.PathIterator;
+import java.util.Arrays;
+
+/**
+ * Immutable convex outline in an entity's local coordinates, shared by every
+ * instance of that entity. The outline is the convex hull of the flattened
+ * shape, with vertices in winding order, plus the pivot the entity rotates about.
+ */
+public class HullShape {
+
+    private final double[] xs;
+    private final double[] ys;
+    private final double pivotX;
+    private final double pivotY;
+    private final double radius;
+
+    public HullShape(Shape outline, double pivotX, double pivotY) {
+        double[] points = flatten(outline);
+        int n = convexHull(points);
+        this.xs = new double[n];
+        this.ys = new double[n];
+        double max = 0;
+        for (int i = 0; i < n; i++) {
+            xs[i] = points[i * 2];
+            ys[i] = points[i * 2 + 1];
+            max = Math.max(max, Math.hypot(xs[i] - pivotX, ys[i] - pivotY));
+        }
+        this.pivotX = pivotX;
+        this.pivotY = pivotY;
+        this.radius = max;
+    }
+
+    public int getVertexCount() {
+        return xs.length;
+    }
+
+    public double getX(int index) {
+        return xs[index];
+    }
+
+    public double getY(int index) {
+        return ys[index];
+    }
+
+    public double getPivotX() {
+        return pivotX;
+    }
+
+    public double getPivotY() {
+        return pivotY;
+    }
+
+    // Radius of the bounding circle centred on the pivot
+    public double getRadius() {
+        return radius;
+    }
+
+    private static double[] flatten(Shape outline) {
+        double[] points = new double[32];
+        int count = 0;
+        double[] coords = new double[6];
+        for (PathIterator it = outline.getPathIterator(null, 0.5); !it.isDone(); it.next()) {
+            int type = it.currentSegment(coords);
+            if (type == PathIterator.SEG_MOVETO || type == PathIterator.SEG_LINETO) {
+                if (count + 2 > points.length) {
+                    points = Arrays.copyOf(points, points.length * 2);
+                }
+                points[count++] = coords[0];
+                points[count++] = coords[1];
+            }
+        }
+        return Arrays.copyOf(points, count);
+    }
+
+    // Andrew's monotone chain; leaves the hull at the front of the array and returns its size
+    private static int convexHull(double[] points) {
+        int n = points.length / 2;
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int c = Double.compare(points[a * 2], points[b * 2]);
+            return c != 0 ? c : Double.compare(points[a * 2 + 1], points[b * 2 + 1]);
+        });
+        double[] sorted = new double[n * 2];
+        for (int i = 0; i < n; i++) {
+            sorted[i * 2] = points[order[i] * 2];
+            sorted[i * 2 + 1] = points[order[i] * 2 + 1];
+        }
+        double[] hull = new double[n * 4];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            while (k >= 2 && cross(hull, k - 2, k - 1, sorted, i) <= 0) {
+                k--;
+            }
+            hull[k * 2] = sorted[i * 2];
+            hull[k * 2 + 1] = sorted[i * 2 + 1];
+            k++;
+        }
+        for (int i = n - 2, lower = k + 1; i >= 0; i--) {
+            while (k >= lower && cross(hull, k - 2, k - 1, sorted, i) <= 0) {
+                k--;
+            }
+            hull[k * 2] = sorted[i * 2];
+            hull[k * 2 + 1] = sorted[i * 2 + 1];
+            k++;
+        }
+        k = Math.max(1, k - 1);
+        System.arraycopy(hull, 0, points, 0, k * 2);
+        return k;
+    }
+
+    private static double cross(double[] hull, int a, int b, double[] points, int c) {
+        double ox = hull[a * 2];
+        double oy = hull[a * 2 + 1];
+        return (hull[b * 2] - ox) * (points[c * 2 + 1] - oy) - (hull[b * 2 + 1] - oy) * (points[c * 2] - ox);
+    }
+}
@@ -0,0 +1,180 @@
+package game.collision;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid broad phase. The grid is rebuilt every tick; a query returns the
+ * ids of entries on the requested layers whose bounding boxes overlap the query
+ * box. Entries carry an entity handle rather than a reference, so an entity
+ * destroyed earlier in the tick simply fails to resolve. A pair is reported
+ * only from the cell holding the top-left corner of the overlap, so no
+ * per-entry bookkeeping is needed to avoid duplicates.
+ */
+public class SpatialGrid {
+
+    public static class Query {
+
+        private int[] ids = new int[32];
+        private int size;
+        private long candidates;
+
+        public int size() {
+            return size;
+        }
+
+        public int get(int index) {
+            return ids[index];
+        }
+
+        // Entries that shared a cell with the query box since the last reset
+        public long getCandidates() {
+            return candidates;
+        }
+
+        public void resetCandidates() {
+            candidates = 0;
+        }
+
+        private void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        // Keep insertion order so narrow-phase results do not depend on cell layout
+        private void sort() {
+            for (int i = 1; i < size; i++) {
+                int id = ids[i];
+                int j = i - 1;
+                while (j >= 0 && ids[j] > id) {
+                    ids[j + 1] = ids[j];
+                    j--;
+                }
+                ids[j + 1] = id;
+            }
+        }
+    }
+
+    private final int cellSize;
+    private int cols;
+    private int rows;
+    private int[] cellHead;
+    private int[] linkNext = new int[256];
+    private int[] linkEntry = new int[256];
+    private int linkCount;
+    private long[] handles = new long[64];
+    private int[] layers = new int[64];
+    private double[] minX = new double[64];
+    private double[] minY = new double[64];
+    private double[] maxX = new double[64];
+    private double[] maxY = new double[64];
+    private int count;
+
+    public SpatialGrid(int cellSize, int width, int height) {
+        this.cellSize = cellSize;
+        resize(width, height);
+    }
+
+    public final void resize(int width, int height) {
+        cols = Math.max(1, (width + cellSize - 1) / cellSize);
+        rows = Math.max(1, (height + cellSize - 1) / cellSize);
+        cellHead = new int[cols * rows];
+        clear();
+    }
+
+    public void clear() {
+        Arrays.fill(cellHead, -1);
+        linkCount = 0;
+        count = 0;
+    }
+
+    public int insert(long handle, int layer, double x1, double y1, double x2, double y2) {
+        if (count == handles.length) {
+            int capacity = count * 2;
+            handles = Arrays.copyOf(handles, capacity);
+            layers = Arrays.copyOf(layers, capacity);
+            minX = Arrays.copyOf(minX, capacity);
+            minY = Arrays.copyOf(minY, capacity);
+            maxX = Arrays.copyOf(maxX, capacity);
+            maxY = Arrays.copyOf(maxY, capacity);
+        }
+        int id = count++;
+        handles[id] = handle;
+        layers[id] = layer;
+        minX[id] = x1;
+        minY[id] = y1;
+        maxX[id] = x2;
+        maxY[id] = y2;
+        int c1 = col(x1);
+        int c2 = col(x2);
+        int r1 = row(y1);
+        int r2 = row(y2);
+        for (int r = r1; r <= r2; r++) {
+            for (int c = c1; c <= c2; c++) {
+                link(r * cols + c, id);
+            }
+        }
+        return id;
+    }
+
+    public long getHandle(int id) {
+        return handles[id];
+    }
+
+    public int getLayer(int id) {
+        return layers[id];
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int query(double x1, double y1, double x2, double y2, int layerMask, Query query) {
+        query.size = 0;
+        int c1 = col(x1);
+        int c2 = col(x2);
+        int r1 = row(y1);
+        int r2 = row(y2);
+        for (int r = r1; r <= r2; r++) {
+            for (int c = c1; c <= c2; c++) {
+                for (int link = cellHead[r * cols + c]; link != -1; link = linkNext[link]) {
+                    int id = linkEntry[link];
+                    if ((layerMask & (1 << layers[id])) == 0) {
+                        continue;
+                    }
+                    if (col(Math.max(x1, minX[id])) != c || row(Math.max(y1, minY[id])) != r) {
+                        continue;
+                    }
+                    query.candidates++;
+                    if (minX[id] <= x2 && maxX[id] >= x1 && minY[id] <= y2 && maxY[id] >= y1) {
+                        query.add(id);
+                    }
+                }
+            }
+        }
+        query.sort();
+        return query.size;
+    }
+
+    private void link(int cell, int id) {
+        if (linkCount == linkNext.length) {
+            linkNext = Arrays.copyOf(linkNext, linkCount * 2);
+            linkEntry = Arrays.copyOf(linkEntry, linkCount * 2);
+        }
+        linkEntry[linkCount] = id;
+        linkNext[linkCount] = cellHead[cell];
+        cellHead[cell] = linkCount++;
+    }
+
+    // Anything outside the playfield is folded into the border cells
+    private int col(double x) {
+        int c = (int) Math.floor(x / cellSize);
+        return c < 0 ? 0 : (c >= cols ? cols - 1 : c);
+    }
+
+    private int row(double y) {
+        int r = (int) Math.floor(y / cellSize);
+        return r < 0 ? 0 : (r >= rows ? rows - 1 : r);
+    }
+}
@@ -0,0 +1,78 @@
+package game.component;
+
+import game.obj.DirtyRegion;
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+/**
+ * Page flipping through a {@link BufferStrategy} on a heavyweight
+ * {@link Canvas}. Swing never paints the canvas, so the game thread owns
+ * the screen and frames cannot tear against a repaint. After a flip the back
+ * buffer holds an older frame, so every frame is drawn in full. The page
+ * buffers are the size of the window, so the game is drawn straight into the
+ * viewport at the window's scale and the render scale does not apply.
+ */
+public class CanvasSurface implements RenderSurface {
+
+    private final Canvas canvas;
+    private BufferStrategy strategy;
+    private Viewport viewport;
+    private Graphics2D g2;
+
+    // The canvas must already be displayable
+    public CanvasSurface(Canvas canvas, Viewport viewport) {
+        this.canvas = canvas;
+        canvas.setIgnoreRepaint(true);
+        setViewport(viewport);
+    }
+
+    @Override
+    public void setViewport(Viewport viewport) {
+        // A strategy keeps the buffer size it was created with
+        if (!viewport.hasSameBuffer(this.viewport)) {
+            if (strategy != null) {
+                strategy.dispose();
+            }
+            canvas.createBufferStrategy(2);
+            strategy = canvas.getBufferStrategy();
+        }
+        this.viewport = viewport;
+    }
+
+    // Drawing starts at the picture's top-left corner, clipped to it
+    @Override
+    public Graphics2D begin() {
+        g2 = (Graphics2D) strategy.getDrawGraphics();
+        if (viewport.isLetterboxed()) {
+            g2.setColor(Color.BLACK);
+            g2.fillRect(0, 0, viewport.getWindowWidth(), viewport.getWindowHeight());
+        }
+        g2.translate(viewport.getX(), viewport.getY());
+        g2.clipRect(0, 0, viewport.getWidth(), viewport.getHeight());
+        return g2;
+    }
+
+    @Override
+    public boolean isRetained() {
+        return false;
+    }
+
+    @Override
+    public boolean show(DirtyRegion damage) {
+        g2.dispose();
+        if (strategy.contentsRestored()) {
+            return false;
+        }
+        strategy.show();
+        Toolkit.getDefaultToolkit().sync();
+        return !strategy.contentsLost();
+    }
+
+    @Override
+    public void dispose() {
+        strategy.dispose();
+    }
+}
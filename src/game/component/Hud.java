@@ -0,0 +1,321 @@
+package game.component;
+
+import game.engine.World;
+import game.obj.DirtyRegion;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.TimeZone;
+
+/**
+ * All on-screen text: the in-game HUD and the menu screens. Fonts are derived
+ * once and every line is a {@link TextLabel}, so a frame only blits cached
+ * images and re-renders a line when the value behind it changes.
+ *
+ * Each frame the show methods place the lines for the current screen, then
+ * {@link #addDamage} compares the placements with the last frame's and
+ * {@link #draw} blits the lines that fall in the damaged area. A screen
+ * whose text has not changed adds no damage at all.
+ */
+public class Hud {
+
+    private static final String[] INSTRUCTIONS = {
+        "Instructions:",
+        "A/D: Rotate Left/Right",
+        "Space: Speed Up",
+        "J: Shoot Small Bullet (Unlimited)",
+        "K: Shoot Rockets (10, reloads every 10s)",
+        "Enter: Start Game",
+        "Q: Quit (Confirm with Y/N)",
+        "Press Enter to Continue"
+    };
+
+    private final int width;
+    private final int height;
+    private final TimeZone zone = TimeZone.getDefault();
+
+    // Startup screen
+    private final TextLabel title;
+    private final TextLabel[] instructions = new TextLabel[INSTRUCTIONS.length];
+    private final TextLabel highScore;
+    private String highScoreHolder;
+    private final TextLabel copyright;
+
+    // Name entry
+    private final TextLabel namePrompt;
+    private final TextLabel namePlaceholder;
+    private final TextLabel name;
+    private final TextLabel nameInstruction;
+
+    // Playing
+    private final TextLabel player;
+    private final TextLabel score;
+    private final TextLabel ammo;
+    private final TextLabel clock;
+    private final TextLabel reload;
+
+    // Game over and quit confirmation
+    private final TextLabel gameOver;
+    private final TextLabel killMessage;
+    private final TextLabel gameOverKey;
+    private final TextLabel quitGame;
+    private final TextLabel returnHome;
+
+    // A settings change, shown on every screen for NOTICE_NANOS
+    private static final long NOTICE_NANOS = 2000000000L;
+    private final TextLabel notice;
+    private long noticeUntil;
+
+    private String playerName = "";
+
+    // Lines placed this frame and last frame
+    private Placements placed = new Placements();
+    private Placements lastPlaced = new Placements();
+
+    public Hud(Font base, int width, int height) {
+        this.width = width;
+        this.height = height;
+        Font bold15 = base.deriveFont(Font.BOLD, 15f);
+        Font bold25 = base.deriveFont(Font.BOLD, 25f);
+        Font bold30 = base.deriveFont(Font.BOLD, 30f);
+        Font bold50 = base.deriveFont(Font.BOLD, 50f);
+        Font plain15 = base.deriveFont(Font.PLAIN, 15f);
+        Font plain20 = base.deriveFont(Font.PLAIN, 20f);
+        Font plain25 = base.deriveFont(Font.PLAIN, 25f);
+
+        title = new TextLabel(bold30, Color.WHITE, "Rocket Man");
+        for (int i = 0; i < INSTRUCTIONS.length; i++) {
+            instructions[i] = new TextLabel(plain20, Color.WHITE, INSTRUCTIONS[i]);
+        }
+        highScore = new TextLabel(plain20, Color.WHITE);
+        copyright = new TextLabel(plain15, Color.WHITE, "© 2025 Pacyuzu Inc. All rights reserved.");
+
+        namePrompt = new TextLabel(bold30, Color.WHITE, "Enter Your Name:");
+        namePlaceholder = new TextLabel(plain25, Color.GRAY, "Type your name...");
+        name = new TextLabel(plain25, Color.WHITE);
+        nameInstruction = new TextLabel(plain20, Color.WHITE, "Press Enter to Confirm, Q to Home");
+
+        player = new TextLabel(bold15, Color.WHITE, "Player: ");
+        score = new TextLabel(bold15, Color.WHITE);
+        ammo = new TextLabel(bold15, Color.WHITE);
+        clock = new TextLabel(bold15, Color.WHITE);
+        reload = new TextLabel(bold15, Color.RED);
+
+        gameOver = new TextLabel(bold50, Color.WHITE, "GAME OVER");
+        killMessage = new TextLabel(bold25, Color.WHITE);
+        gameOverKey = new TextLabel(bold15, Color.WHITE, "Press Enter or Q to Home");
+        quitGame = new TextLabel(bold30, Color.WHITE, "Quit Game? (Y/N)");
+        returnHome = new TextLabel(bold30, Color.WHITE, "Return to Home? (Y/N)");
+        notice = new TextLabel(bold15, Color.YELLOW);
+    }
+
+    public void setPlayerName(String playerName) {
+        this.playerName = playerName;
+        player.setText("Player: " + playerName);
+        killMessage.invalidate();
+    }
+
+    // Starts a new frame; the last frame's placements are kept to compare against
+    public void beginFrame() {
+        Placements last = lastPlaced;
+        lastPlaced = placed;
+        placed = last;
+        placed.clear();
+    }
+
+    // Adds every line that appeared, moved, changed or went away, then grows the damage to
+    // whole lines wherever it touches one, so a line is either redrawn whole or left alone
+    public void addDamage(DirtyRegion damage) {
+        for (int i = 0; i < placed.count; i++) {
+            int last = lastPlaced.indexOf(placed.labels[i]);
+            if (last < 0 || lastPlaced.images[last] != placed.images[i]
+                    || lastPlaced.x[last] != placed.x[i] || lastPlaced.y[last] != placed.y[i]) {
+                placed.addTo(damage, i);
+                if (last >= 0) {
+                    lastPlaced.addTo(damage, last);
+                }
+            }
+        }
+        for (int i = 0; i < lastPlaced.count; i++) {
+            if (placed.indexOf(lastPlaced.labels[i]) < 0) {
+                lastPlaced.addTo(damage, i);
+            }
+        }
+        boolean grown;
+        do {
+            grown = false;
+            for (int i = 0; i < placed.count; i++) {
+                if (placed.intersects(damage, i)) {
+                    grown |= placed.addTo(damage, i);
+                }
+            }
+        } while (grown);
+    }
+
+    // Draws the lines placed this frame that lie in the damaged area
+    public void draw(Graphics2D g2, DirtyRegion damage) {
+        for (int i = 0; i < placed.count; i++) {
+            if (placed.intersects(damage, i)) {
+                g2.drawImage(placed.images[i], placed.x[i], placed.y[i], null);
+            }
+        }
+    }
+
+    public void showInstructions(String highScorePlayer, int highScoreValue) {
+        placeCentered(title, height / 4);
+
+        int lineHeight = 30;
+        int y = height / 2 - (instructions.length * lineHeight) / 2;
+        for (TextLabel line : instructions) {
+            placeCentered(line, y);
+            y += lineHeight;
+        }
+
+        // A new leader can hold the same score, so the name is compared too
+        boolean scoreChanged = highScore.changed(highScoreValue);
+        if (scoreChanged || !highScorePlayer.equals(highScoreHolder)) {
+            highScoreHolder = highScorePlayer;
+            highScore.setText("High Score: " + highScorePlayer + " - " + highScoreValue);
+        }
+        y += 20;
+        placeCentered(highScore, y);
+
+        y += 20;
+        placeCentered(copyright, y);
+    }
+
+    public void showNameEntry(CharSequence input) {
+        placeCentered(namePrompt, height / 3);
+        if (input.length() == 0) {
+            placeCentered(namePlaceholder, height / 2);
+        } else {
+            name.setText(input);
+            placeCentered(name, height / 2);
+        }
+        placeCentered(nameInstruction, height * 2 / 3);
+    }
+
+    public void showPlaying(World world) {
+        place(player, 10, 20);
+
+        if (score.changed(world.getScore())) {
+            score.setText("Score: " + world.getScore());
+        }
+        place(score, 10, 40);
+
+        int used = world.getLargeBulletsUsed();
+        int limit = world.getLargeAmmoLimit();
+        if (ammo.changed((long) used << 32 | limit)) {
+            ammo.setText("Rockets: " + used + "/" + limit);
+        }
+        place(ammo, 10, 60);
+
+        long now = System.currentTimeMillis();
+        long second = Math.floorDiv(now + zone.getOffset(now), 1000L);
+        if (clock.changed(second)) {
+            int secondOfDay = (int) Math.floorMod(second, 86400L);
+            clock.setText(String.format("Time: %02d:%02d:%02d", secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60));
+        }
+        place(clock, 10, 80);
+
+        int secondsRemaining = world.getReloadSecondsRemaining();
+        if (secondsRemaining > 0) {
+            if (reload.changed(secondsRemaining)) {
+                reload.setText("Large Bullet Reload: " + secondsRemaining + "s");
+            }
+            place(reload, 10, 100);
+        }
+    }
+
+    public void showGameOver(int finalScore) {
+        // Every line is placed relative to the height of the GAME OVER line
+        double textHeight = gameOver.getLineHeight();
+        double y = (height - textHeight) / 2 - 50;
+        placeCentered(gameOver, (int) y + gameOver.getAscent());
+
+        if (killMessage.changed(finalScore)) {
+            killMessage.setText(playerName + ", you killed " + finalScore + " rockets!");
+        }
+        double y2 = (height - textHeight) / 2 + 20;
+        placeCentered(killMessage, (int) y2 + killMessage.getAscent());
+
+        double y3 = (height - textHeight) / 2 + 70;
+        placeCentered(gameOverKey, (int) y3 + gameOverKey.getAscent());
+    }
+
+    public void showConfirmQuit(boolean quit) {
+        TextLabel text = quit ? quitGame : returnHome;
+        double y = (height - text.getLineHeight()) / 2.0;
+        placeCentered(text, (int) y + text.getAscent());
+    }
+
+    // Shows a message in the bottom-right corner for the next two seconds
+    public void setNotice(String text) {
+        notice.setText(text);
+        noticeUntil = System.nanoTime() + NOTICE_NANOS;
+    }
+
+    public void showNotice() {
+        if (noticeUntil != 0 && System.nanoTime() - noticeUntil < 0) {
+            place(notice, width - notice.getWidth() - 10, height - 20);
+        }
+    }
+
+    // Places a line with its text baseline at y
+    private void place(TextLabel label, int x, int y) {
+        placed.add(label, label.getImage(), x, y - label.getAscent());
+    }
+
+    private void placeCentered(TextLabel label, int y) {
+        place(label, (width - label.getWidth()) / 2, y);
+    }
+
+    // Lines on screen in one frame: the label, the image it had then and the image's top-left corner
+    private static class Placements {
+
+        private TextLabel[] labels = new TextLabel[16];
+        private BufferedImage[] images = new BufferedImage[16];
+        private int[] x = new int[16];
+        private int[] y = new int[16];
+        private int count;
+
+        void add(TextLabel label, BufferedImage image, int left, int top) {
+            if (count == labels.length) {
+                labels = Arrays.copyOf(labels, count * 2);
+                images = Arrays.copyOf(images, count * 2);
+                x = Arrays.copyOf(x, count * 2);
+                y = Arrays.copyOf(y, count * 2);
+            }
+            labels[count] = label;
+            images[count] = image;
+            x[count] = left;
+            y[count] = top;
+            count++;
+        }
+
+        int indexOf(TextLabel label) {
+            for (int i = 0; i < count; i++) {
+                if (labels[i] == label) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        boolean addTo(DirtyRegion damage, int i) {
+            return damage.add(x[i], y[i], images[i].getWidth(), images[i].getHeight());
+        }
+
+        boolean intersects(DirtyRegion damage, int i) {
+            return damage.intersects(x[i], y[i], images[i].getWidth(), images[i].getHeight());
+        }
+
+        void clear() {
+            Arrays.fill(labels, 0, count, null);
+            Arrays.fill(images, 0, count, null);
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package game.component;
+
+import game.obj.DirtyRegion;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws into a {@link BufferedImage} and copies it to the component through
+ * {@code getGraphics()}. With no component the image is only drawn, which
+ * is how benchmarks render without a window.
+ */
+public class ImageSurface implements RenderSurface {
+
+    private final Component component;
+    private final Rectangle scratch = new Rectangle();
+    private Viewport viewport;
+    private BufferedImage image;
+    private Graphics2D g2;
+
+    public ImageSurface(Component component, Viewport viewport) {
+        this.component = component;
+        setViewport(viewport);
+    }
+
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    @Override
+    public void setViewport(Viewport viewport) {
+        if (!viewport.hasSameBuffer(this.viewport)) {
+            if (g2 != null) {
+                g2.dispose();
+            }
+            image = new BufferedImage(viewport.getBufferWidth(), viewport.getBufferHeight(), BufferedImage.TYPE_INT_ARGB);
+            g2 = image.createGraphics();
+        }
+        this.viewport = viewport;
+    }
+
+    @Override
+    public Graphics2D begin() {
+        return g2;
+    }
+
+    @Override
+    public boolean isRetained() {
+        return true;
+    }
+
+    @Override
+    public boolean show(DirtyRegion damage) {
+        if (component != null && !damage.isEmpty()) {
+            Graphics g = component.getGraphics();
+            if (g != null) {
+                present(g, image, viewport, damage, scratch);
+                g.dispose();
+            }
+        }
+        return true;
+    }
+
+    // Copies a frame to the window: the damaged rectangles one by one when the buffer is shown unscaled,
+    // otherwise the whole buffer in one scaled blit. The bars around the picture are filled on full frames.
+    static void present(Graphics g, Image buffer, Viewport viewport, DirtyRegion damage, Rectangle scratch) {
+        int x = viewport.getX();
+        int y = viewport.getY();
+        if (damage.isFull() && viewport.isLetterboxed()) {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, viewport.getWindowWidth(), y);
+            g.fillRect(0, y + viewport.getHeight(), viewport.getWindowWidth(), viewport.getWindowHeight() - y - viewport.getHeight());
+            g.fillRect(0, y, x, viewport.getHeight());
+            g.fillRect(x + viewport.getWidth(), y, viewport.getWindowWidth() - x - viewport.getWidth(), viewport.getHeight());
+        }
+        if (!viewport.isOneToOne()) {
+            ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(buffer, x, y, x + viewport.getWidth(), y + viewport.getHeight(),
+                    0, 0, viewport.getBufferWidth(), viewport.getBufferHeight(), null);
+        } else if (damage.isFull()) {
+            g.drawImage(buffer, x, y, null);
+        } else {
+            for (Rectangle logical : damage.getRects()) {
+                Rectangle r = viewport.toBuffer(logical, scratch);
+                g.drawImage(buffer, x + r.x, y + r.y, x + r.x + r.width, y + r.y + r.height,
+                        r.x, r.y, r.x + r.width, r.y + r.height, null);
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        g2.dispose();
+    }
+}
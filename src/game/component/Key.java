@@ -1,6 +1,8 @@
 package game.component;
 
-public class Key {
+import game.engine.Input;
+
+public class Key implements Input {
 
     public boolean isKey_enter() {
         return key_enter;
@@ -10,6 +12,7 @@ public class Key {
         this.key_enter = key_enter;
     }
 
+    @Override
     public boolean isKey_right() {
         return key_right;
     }
@@ -18,6 +21,7 @@ public class Key {
         this.key_right = key_right;
     }
 
+    @Override
     public boolean isKey_left() {
         return key_left;
     }
@@ -26,6 +30,7 @@ public class Key {
         this.key_left = key_left;
     }
 
+    @Override
     public boolean isKey_space() {
         return key_space;
     }
@@ -34,6 +39,7 @@ public class Key {
         this.key_space = key_space;
     }
 
+    @Override
     public boolean isKey_j() {
         return key_j;
     }
@@ -42,6 +48,7 @@ public class Key {
         this.key_j = key_j;
     }
 
+    @Override
     public boolean isKey_k() {
         return key_k;
     }
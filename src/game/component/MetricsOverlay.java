@@ -0,0 +1,64 @@
+package game.component;
+
+import game.metrics.Metrics;
+import game.obj.DirtyRegion;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The metrics summary drawn in the top-right corner. Lines are re-rendered
+ * only when a new summary window closes, about once per second.
+ */
+public class MetricsOverlay {
+
+    private static final Color BACKDROP = new Color(0, 0, 0, 170);
+    private static final int PADDING = 6;
+
+    private final Font font = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private final List<TextLabel> lines = new ArrayList<>();
+    private long window = -1;
+    private int lineCount;
+    private int boxWidth;
+
+    public void update(Metrics metrics) {
+        List<String> summary = metrics.getSummary();
+        if (metrics.getWindow() != window) {
+            window = metrics.getWindow();
+            while (lines.size() < summary.size()) {
+                lines.add(new TextLabel(font, Color.WHITE));
+            }
+            lineCount = summary.size();
+            boxWidth = 0;
+            for (int i = 0; i < lineCount; i++) {
+                lines.get(i).setText(summary.get(i));
+                boxWidth = Math.max(boxWidth, lines.get(i).getWidth());
+            }
+        }
+    }
+
+    // The backdrop is translucent, so its area is redrawn from the background every frame it is shown
+    public void addBounds(DirtyRegion region, int width) {
+        if (lineCount > 0) {
+            region.add(width - boxWidth - PADDING * 4, PADDING, boxWidth + PADDING * 2,
+                    lineCount * lines.get(0).getLineHeight() + PADDING * 2);
+        }
+    }
+
+    public void draw(Graphics2D g2, int width) {
+        if (lineCount == 0) {
+            return;
+        }
+        int lineHeight = lines.get(0).getLineHeight();
+        int x = width - boxWidth - PADDING * 3;
+        g2.setColor(BACKDROP);
+        g2.fillRect(x - PADDING, PADDING, boxWidth + PADDING * 2, lineCount * lineHeight + PADDING * 2);
+        int y = PADDING * 2;
+        for (int i = 0; i < lineCount; i++) {
+            lines.get(i).draw(g2, x, y + lines.get(i).getAscent());
+            y += lineHeight;
+        }
+    }
+}
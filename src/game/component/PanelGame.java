@@ -1,70 +1,133 @@
 package game.component;
 
+import game.engine.EntityStore;
+import game.engine.FramePacer;
+import game.engine.GameLoop;
+import game.engine.InputRecorder;
+import game.engine.InputRing;
+import game.engine.Quality;
+import game.engine.QualityGovernor;
+import game.engine.ReplayInput;
+import game.engine.StressScenario;
+import game.engine.World;
+import game.metrics.Metrics;
+import game.metrics.StressReport;
+import game.obj.Assets;
 import game.obj.Bullet;
-import game.obj.Effect;
+import game.obj.DirtyRegion;
 import game.obj.Player;
 import game.obj.Rocket;
+import game.obj.RotatedSprite;
 import game.obj.sound.Sound;
+import game.score.ScoreEntry;
+import game.score.ScoreLog;
+import java.awt.BorderLayout;
+import java.awt.Canvas;
 import java.awt.Color;
+import java.awt.Component;
+import java.awt.DisplayMode;
 import java.awt.Font;
-import java.awt.FontMetrics;
+import java.awt.Frame;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
+import java.awt.Window;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.awt.geom.Area;
-import java.awt.geom.Rectangle2D;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 import java.util.Random;
-import java.util.concurrent.CopyOnWriteArrayList;
-import javax.imageio.ImageIO;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.JComponent;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import javax.swing.SwingUtilities;
 
 public class PanelGame extends JComponent {
 
+    // The game is laid out and simulated in this space whatever the window size
+    public static final int LOGICAL_WIDTH = 1366;
+    public static final int LOGICAL_HEIGHT = 768;
+
     private Graphics2D g2;
-    private BufferedImage image;
-    private BufferedImage backgroundImage;
+    private RenderSurface surface;
+    private Canvas canvas;
     private int width;
     private int height;
-    private Thread thread;
-    private volatile boolean start = true;
+    // Back buffer pixels per window pixel, in percent: -Drocket.renderScale=50 to 200; F5 steps through RENDER_SCALES
+    private static final int[] RENDER_SCALES = {50, 75, 100, 150, 200};
+    private int renderScale = Integer.getInteger("rocket.renderScale", 100);
+    private Viewport viewport;
+    // After a resize the old buffer is stretched to the window until the size has not changed for this long
+    private static final long RESIZE_SETTLE_NANOS = 200000000L;
+    private long resizedAt;
+    // The buffer and background for a new size, prepared off the game thread
+    private Viewport pendingViewport;
+    private CompletableFuture<BufferedImage> pendingBackground;
+    private BufferedImage background;
+    private GameLoop loop;
     private Key key;
-    private int shotTime;
+    private final InputRing keyEvents = new InputRing(256);
+    private final Random rand = new Random();
+
+    // Frame rate: "display" (the screen's refresh rate, the default), a number or "uncapped"; F4 steps through FPS_CHOICES
+    private static final String FPS_SETTING = System.getProperty("rocket.fps", "display");
+    private static final int DEFAULT_FPS = 60;
+    private static final int[] FPS_CHOICES = {30, 60, 120, 144, 240, FramePacer.UNCAPPED};
+    private final FramePacer pacer = new FramePacer(DEFAULT_FPS);
+    private int refreshRate = DEFAULT_FPS;
+    // Presentation path: "image" (default), "volatile" or "bufferstrategy"
+    private static final String RENDER_MODE = System.getProperty("rocket.render", "image");
+    // Prints the metrics summary once per second
+    private static final boolean FRAME_STATS = Boolean.getBoolean("rocket.frameStats");
+    // "auto" lowers the quality while frames run over budget; high, medium, low or minimal holds one level
+    private static final String QUALITY = System.getProperty("rocket.quality", "auto");
+    private final QualityGovernor governor = new QualityGovernor(1000000000L / DEFAULT_FPS);
+    private Metrics metrics;
+    private final MetricsOverlay metricsOverlay = new MetricsOverlay();
+    // F3 toggles the overlay; -Drocket.metrics=true shows it from the start
+    private boolean showMetrics = Boolean.getBoolean("rocket.metrics");
+    private long printedWindow;
+    // Only the area that changed since the last frame is redrawn and presented; -Drocket.dirtyRects=false redraws everything
+    private static final boolean DIRTY_RECTS = Boolean.parseBoolean(System.getProperty("rocket.dirtyRects", "true"));
+    // Past this share of the screen one full redraw is cheaper than many partial ones
+    private static final float FULL_REDRAW_COVERAGE = 0.5f;
+    // Shown where the background image is missing
+    private static final Color BACKGROUND_COLOR = new Color(0, 51, 102);
+    private DirtyRegion damage;
+    // Area covered by sprites, particles and the metrics overlay this frame and last frame
+    private DirtyRegion footprint;
+    private DirtyRegion lastFootprint;
+    private final Rectangle bufferRect = new Rectangle();
+    // Set when Swing paints over the panel, e.g. when the window is uncovered
+    private volatile boolean repaintAll = true;
+    // -Drocket.record=dir writes each game to a replay file in dir; -Drocket.replay=file plays one back
+    private static final String RECORD_DIR = System.getProperty("rocket.record");
+    private static final String REPLAY_FILE = System.getProperty("rocket.replay");
+    private InputRecorder recorder;
+    private ReplayInput replay;
+    // -Drocket.stress=10,100,1000 runs a stress sweep instead of the game and writes the results to stress.csv/.json
+    private static final String STRESS_STEPS = System.getProperty("rocket.stress");
+    private StressScenario stress;
+    private StressReport stressReport;
+    private long stressFrameStart;
 
-    // Game FPS
-    private final int FPS = 60;
-    private final int TARGET_TIME = 1000000000 / FPS;
     // Game Objects
     private Sound sound;
-    private Player player;
-    private List<Bullet> bullets;
-    private List<Bullet> rocketBullets;
-    private List<Rocket> rockets;
-    private List<Effect> boomEffects;
-    private int score = 0;
+    private World world;
+    private Hud hud;
     private String playerName = "";
     private final StringBuilder nameInput = new StringBuilder();
 
-    // Ammo tracking for large bullets
-    private int largeBulletsUsed = 0;
-    private final int largeAmmoLimit = 10;
-    private long lastReloadTime = 0;
-    private final long reloadInterval = 10000;
-
-    // High score tracking
-    private String highScorePlayer = "None";
-    private int highScore = 0;
-    private static final Path HIGH_SCORE_FILE = Paths.get("highscore.txt");
+    // Leaderboard, saved in the background
+    private ScoreLog scores;
 
     // Game state
     private enum GameState { STARTUP, NAME_ENTRY, PLAYING, GAME_OVER, CONFIRM_QUIT }
@@ -72,641 +135,750 @@ public class PanelGame extends JComponent {
     private GameState previousState;
 
     public void start() {
-        width = getWidth();
-        height = getHeight();
-        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        g2 = image.createGraphics();
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        width = LOGICAL_WIDTH;
+        height = LOGICAL_HEIGHT;
+        viewport = createViewport(getWidth(), getHeight());
+        surface = createSurface();
+        initDamage();
+        initQuality();
+        initFrameRate();
+        loadAssets();
+        hud = new Hud(getFont(), width, height);
+
+        scores = ScoreLog.open();
+
+        initKeyboard();
+        initObjectGame();
+        if (REPLAY_FILE != null) {
+            startReplay(Paths.get(REPLAY_FILE));
+        } else if (STRESS_STEPS != null) {
+            startStress();
+        }
+        loop = new GameLoop(new GameLoop.Game() {
+            @Override
+            public void update() {
+                updateGame();
+            }
+
+            @Override
+            public void render(float interpolation) {
+                renderFrame(interpolation);
+            }
+        }, pacer);
+        loop.start();
+    }
+
+    // Draws the playing state of the given world into an offscreen image, without a window or game loop
+    public BufferedImage startOffscreen(World world, int width, int height) {
+        this.width = width;
+        this.height = height;
+        if (getFont() == null) {
+            setFont(new Font(Font.DIALOG, Font.PLAIN, 12));
+        }
+        viewport = new Viewport(width, height, width, height, renderScale / 100.0);
+        background = Assets.background(viewport.getBufferWidth(), viewport.getBufferHeight());
+        ImageSurface offscreen = new ImageSurface(null, viewport);
+        surface = offscreen;
+        initDamage();
+        g2 = surface.begin();
+        applyHints();
+        hud = new Hud(getFont(), width, height);
+        this.world = world;
+        sound = new Sound(false);
+        gameState = GameState.PLAYING;
+        return offscreen.getImage();
+    }
+
+    // Redraws whatever changed since the last frame: the area sprites left or moved into and any text that changed
+    public void drawFrame(float interpolation) {
+        hud.beginFrame();
+        DirtyRegion last = lastFootprint;
+        lastFootprint = footprint;
+        footprint = last;
+        footprint.clear();
+        layoutGame(interpolation);
+        boolean overlay = showMetrics && metrics != null;
+        if (overlay) {
+            metricsOverlay.update(metrics);
+            metricsOverlay.addBounds(footprint, width);
+        }
+
+        damage.clear();
+        if (repaintAll || !DIRTY_RECTS || !surface.isRetained()) {
+            repaintAll = false;
+            damage.addAll();
+        }
+        damage.add(lastFootprint);
+        damage.add(footprint);
+        hud.addDamage(damage);
+        if (damage.getCoverage() > FULL_REDRAW_COVERAGE) {
+            damage.addAll();
+        }
+        if (damage.isEmpty()) {
+            return;
+        }
+
+        // The background is restored in buffer pixels, everything else is drawn in logical coordinates
+        AffineTransform base = g2.getTransform();
+        drawBackground();
+        g2.scale(viewport.getScaleX(), viewport.getScaleY());
+        RotatedSprite.setScale(viewport.getScaleX(), viewport.getScaleY());
+        if (gameState == GameState.PLAYING || gameState == GameState.GAME_OVER) {
+            drawWorld(interpolation);
+        }
+        hud.draw(g2, damage);
+        if (overlay) {
+            metricsOverlay.draw(g2, width);
+        }
+        g2.setTransform(base);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        // The game loop owns the screen; Swing painting means the last frame is gone
+        repaintAll = true;
+    }
+
+    private RenderSurface createSurface() {
+        switch (RENDER_MODE) {
+            case "volatile":
+                return new VolatileSurface(this, viewport);
+            case "bufferstrategy":
+                // Page flipping needs a heavyweight component, so the canvas covers the whole panel
+                canvas = new Canvas();
+                setLayout(new BorderLayout());
+                add(canvas, BorderLayout.CENTER);
+                validate();
+                return new CanvasSurface(canvas, viewport);
+            case "image":
+                return new ImageSurface(this, viewport);
+            default:
+                System.err.println("Unknown render mode " + RENDER_MODE + ", using image");
+                return new ImageSurface(this, viewport);
+        }
+    }
+
+    // The logical screen fitted to a window; page flipping draws at the window's own resolution
+    private Viewport createViewport(int windowWidth, int windowHeight) {
+        double scale = "bufferstrategy".equals(RENDER_MODE) ? 1 : renderScale / 100.0;
+        return new Viewport(width, height, windowWidth, windowHeight, scale);
+    }
+
+    // Follows the window size. While it changes the old buffer is stretched to fit, so dragging the edge never
+    // waits on an allocation; once it settles the new background is scaled off the game thread and swapped in.
+    private void checkViewport() {
+        int windowWidth = getWidth();
+        int windowHeight = getHeight();
+        if (!viewport.isWindow(windowWidth, windowHeight)) {
+            resizedAt = System.nanoTime();
+            cancelPendingViewport();
+            setViewport(viewport.withWindow(windowWidth, windowHeight));
+        } else if (pendingBackground != null) {
+            if (pendingBackground.isDone()) {
+                background = pendingBackground.join();
+                Viewport next = pendingViewport;
+                cancelPendingViewport();
+                setViewport(next);
+            }
+        } else if (resizedAt != 0 && System.nanoTime() - resizedAt > RESIZE_SETTLE_NANOS) {
+            resizedAt = 0;
+            requestViewport(createViewport(windowWidth, windowHeight));
+        }
+    }
+
+    // Replaces any earlier request, so a rescale still running for another size is never swapped in
+    private void requestViewport(Viewport next) {
+        cancelPendingViewport();
+        if (next.hasSameBuffer(viewport)) {
+            setViewport(next);
+            return;
+        }
+        pendingViewport = next;
+        pendingBackground = CompletableFuture.supplyAsync(
+                () -> Assets.scaleBackground(next.getBufferWidth(), next.getBufferHeight()));
+    }
+
+    private void cancelPendingViewport() {
+        pendingBackground = null;
+        pendingViewport = null;
+    }
+
+    private void setViewport(Viewport next) {
+        viewport = next;
+        surface.setViewport(next);
+        repaintAll = true;
+    }
+
+    // The next render scale in RENDER_SCALES, wrapping from the largest back to the smallest
+    private void nextRenderScale() {
+        if (canvas != null) {
+            hud.setNotice("Render scale does not apply to page flipping");
+            return;
+        }
+        int next = RENDER_SCALES[0];
+        for (int choice : RENDER_SCALES) {
+            if (choice > renderScale) {
+                next = choice;
+                break;
+            }
+        }
+        renderScale = next;
+        requestViewport(createViewport(viewport.getWindowWidth(), viewport.getWindowHeight()));
+        hud.setNotice("Render scale: " + renderScale + "%");
+    }
+
+    // F11: fills the screen, or goes back to the window's normal size
+    private void toggleFullScreen() {
+        SwingUtilities.invokeLater(() -> {
+            Window window = SwingUtilities.getWindowAncestor(this);
+            if (window instanceof Frame) {
+                Frame frame = (Frame) window;
+                frame.setExtendedState(frame.getExtendedState() ^ Frame.MAXIMIZED_BOTH);
+            }
+        });
+    }
+
+    // Draws a full frame and presents it, redrawing if the surface lost it on the way
+    private void renderFrame(float interpolation) {
+        checkViewport();
+        long start = System.nanoTime();
+        long drawn;
+        do {
+            g2 = surface.begin();
+            applyHints();
+            drawFrame(interpolation);
+            drawn = System.nanoTime();
+        } while (!surface.show(damage));
+        long end = System.nanoTime();
+        metrics.setTargetFps(pacer.getFps());
+        // A frame where nothing changed never reaches the window, so it counts as skipped rather than presented
+        if (damage.isEmpty()) {
+            metrics.recordSkippedFrame();
+            governor.skipFrame();
+        } else {
+            metrics.recordRepaint(damage.getCoverage());
+            metrics.recordFrame(drawn - start, end - drawn);
+            governor.endFrame(end - start);
+        }
+        Quality quality = governor.getQuality();
+        metrics.recordQuality(quality);
+        if (world.getQuality() != quality) {
+            world.setQuality(quality);
+        }
+        if (stress != null) {
+            // A stress frame runs from its first tick to the end of its present
+            endStressFrame(end - (stressFrameStart != 0 ? stressFrameStart : start));
+            stressFrameStart = 0;
+        }
+        if (FRAME_STATS && metrics.getWindow() != printedWindow) {
+            printedWindow = metrics.getWindow();
+            System.out.println("Metrics (" + RENDER_MODE + " rendering):");
+            for (String line : metrics.getSummary()) {
+                System.out.println("  " + line);
+            }
+        }
+    }
 
+    private void initDamage() {
+        damage = new DirtyRegion(width, height);
+        footprint = new DirtyRegion(width, height);
+        lastFootprint = new DirtyRegion(width, height);
+        repaintAll = true;
+    }
+
+    private void initQuality() {
+        if ("auto".equalsIgnoreCase(QUALITY)) {
+            return;
+        }
         try {
-            backgroundImage = ImageIO.read(getClass().getResource("/game/image/background.png"));
-        } catch (IOException e) {
-            System.err.println("Error loading background.png: " + e.getMessage());
-            backgroundImage = null;
-        }
-
-        loadHighScore(); // Load high score at startup
-
-        thread = new Thread(() -> {
-            while (start) {
-                long startTime = System.nanoTime();
-                drawBackground();
-                drawGame();
-                render();
-                long time = System.nanoTime() - startTime;
-                if (time < TARGET_TIME) {
-                    long sleep = (TARGET_TIME - time) / 1000000;
-                    sleep(sleep);
+            governor.fix(Quality.valueOf(QUALITY.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown quality " + QUALITY + ", using auto");
+        }
+    }
+
+    private void initFrameRate() {
+        refreshRate = detectRefreshRate();
+        switch (FPS_SETTING) {
+            case "display":
+                setFps(refreshRate);
+                break;
+            case "uncapped":
+                setFps(FramePacer.UNCAPPED);
+                break;
+            default:
+                try {
+                    setFps(Integer.parseInt(FPS_SETTING));
+                } catch (NumberFormatException e) {
+                    System.err.println("Unknown frame rate " + FPS_SETTING + ", using the display's");
+                    setFps(refreshRate);
+                }
+        }
+    }
+
+    // Refresh rate of the screen the panel is on, or 60 when the display does not report one
+    private int detectRefreshRate() {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc == null) {
+            return DEFAULT_FPS;
+        }
+        int rate = gc.getDevice().getDisplayMode().getRefreshRate();
+        return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? DEFAULT_FPS : rate;
+    }
+
+    private void setFps(int fps) {
+        pacer.setFps(fps);
+        // Uncapped frames are still judged against the display's refresh
+        governor.setBudget(fps == FramePacer.UNCAPPED ? 1000000000L / refreshRate : pacer.getPeriodNanos());
+    }
+
+    // The next faster rate in FPS_CHOICES, wrapping from uncapped back to the slowest
+    private void nextFps() {
+        int current = pacer.getFps();
+        int next = FPS_CHOICES[0];
+        if (current != FramePacer.UNCAPPED) {
+            for (int choice : FPS_CHOICES) {
+                if (choice > current || choice == FramePacer.UNCAPPED) {
+                    next = choice;
+                    break;
                 }
             }
-        });
-        initObjectGame();
-        initKeyboard();
-        initBullets();
-        thread.start();
+        }
+        setFps(next);
+        hud.setNotice("Frame rate: " + (next == FramePacer.UNCAPPED ? "uncapped" : next + " FPS")
+                + " (display " + refreshRate + " Hz)");
+    }
+
+    private void applyHints() {
+        Quality quality = governor.getQuality();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                quality.isAntialiasing() ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                quality.isBilinear() ? RenderingHints.VALUE_INTERPOLATION_BILINEAR : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+    }
+
+    private void loadAssets() {
+        long start = System.nanoTime();
+        Assets.load();
+        background = Assets.background(viewport.getBufferWidth(), viewport.getBufferHeight());
+        if (Boolean.getBoolean("rocket.assetStats")) {
+            System.out.println(Assets.report());
+            System.out.printf("Assets loaded in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+        }
     }
 
     private void initObjectGame() {
         sound = new Sound();
-        InputStream playerImageStream = getClass().getResourceAsStream("/game/image/plane.png");
-        if (playerImageStream == null) {
-            System.err.println("Error: Could not load plane.png");
-        }
-        player = new Player(playerImageStream);
-        player.changeLocation(width / 2, height - 75);
-        player.changeAngle(270);
-        rockets = new CopyOnWriteArrayList<>();
-        bullets = new CopyOnWriteArrayList<>();
-        rocketBullets = new CopyOnWriteArrayList<>();
-        boomEffects = new CopyOnWriteArrayList<>();
-        new Thread(() -> {
-            while (start) {
-                if (gameState == GameState.PLAYING) {
-                    addRocket();
-                }
-                sleep(3000);
-            }
-        }).start();
+        world = new World(width, height, key, sound, rand);
+        metrics = new Metrics(world, sound);
     }
 
     private void resetGame() {
-        score = 0;
-        largeBulletsUsed = 0;
-        lastReloadTime = System.currentTimeMillis();
-        rockets.clear();
-        bullets.clear();
-        rocketBullets.clear();
-        boomEffects.clear();
-        InputStream playerImageStream = getClass().getResourceAsStream("/game/image/plane.png");
-        if (playerImageStream == null) {
-            System.err.println("Error: Could not load plane.png");
-        }
-        player = new Player(playerImageStream);
-        player.changeLocation(width / 2, height - 75);
-        player.changeAngle(270);
+        // Each game gets its own seed so a recording can start the world over from it
+        long seed = rand.nextLong();
+        world.reset(seed);
+        if (RECORD_DIR != null) {
+            startRecording(seed);
+        }
         gameState = GameState.PLAYING;
         sound.playBackgroundMusic();
     }
 
-    private void loadHighScore() {
+    private void startRecording(long seed) {
+        stopRecording();
         try {
-            if (Files.exists(HIGH_SCORE_FILE)) {
-                List<String> lines = Files.readAllLines(HIGH_SCORE_FILE);
-                if (!lines.isEmpty()) {
-                    String[] parts = lines.get(0).split(":");
-                    if (parts.length == 2) {
-                        highScorePlayer = parts[0];
-                        highScore = Integer.parseInt(parts[1]);
-                    }
-                }
-            }
-        } catch (IOException | NumberFormatException e) {
-            System.err.println("Error loading high score: " + e.getMessage());
+            Path dir = Paths.get(RECORD_DIR);
+            Files.createDirectories(dir);
+            String name = "game-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".replay";
+            recorder = new InputRecorder(dir.resolve(name), width, height, seed);
+            System.out.println("Recording to " + recorder.getPath());
+        } catch (IOException e) {
+            System.err.println("Error starting recording: " + e.getMessage());
+        }
+    }
+
+    private void stopRecording() {
+        if (recorder != null) {
+            recorder.close();
+            System.out.println("Recorded " + recorder.getTicks() + " ticks to " + recorder.getPath());
+            recorder = null;
         }
     }
 
-    private void saveHighScore() {
+    private void startReplay(Path path) {
         try {
-            String data = highScorePlayer + ":" + highScore;
-            Files.writeString(HIGH_SCORE_FILE, data);
+            replay = ReplayInput.load(path);
         } catch (IOException e) {
-            System.err.println("Error saving high score: " + e.getMessage());
+            System.err.println("Error loading replay: " + e.getMessage());
+            return;
+        }
+        world = replay.createWorld(sound);
+        metrics = new Metrics(world, sound);
+        playerName = "REPLAY";
+        hud.setPlayerName(playerName);
+        gameState = GameState.PLAYING;
+        System.out.println("Replaying " + path + ": " + replay.getLength() + " ticks, seed " + replay.getSeed());
+    }
+
+    private void startStress() {
+        stress = new StressScenario(StressScenario.parseSteps(STRESS_STEPS),
+                Integer.getInteger("rocket.stressWarmup", 60), Integer.getInteger("rocket.stressFrames", 300));
+        stressReport = new StressReport();
+        // Measure at full quality
+        governor.fix(Quality.HIGH);
+        stress.start(world);
+        playerName = "STRESS";
+        hud.setPlayerName(playerName);
+        gameState = GameState.PLAYING;
+        System.out.println("Stress run (" + RENDER_MODE + " rendering):");
+        System.out.println(StressReport.header());
+    }
+
+    private void endStressFrame(long frameNanos) {
+        if (stress.isMeasuring()) {
+            stressReport.recordFrame(world, frameNanos);
+        }
+        int target = stress.getTarget();
+        if (stress.endFrame(world)) {
+            stressReport.endStep(target);
+            if (stress.isDone()) {
+                endStress();
+            }
         }
     }
 
-    private void updateHighScore() {
-        if (score > highScore) {
-            highScore = score;
-            highScorePlayer = playerName;
-            saveHighScore();
+    private void endStress() {
+        Path results = Paths.get(System.getProperty("rocket.stressOut", "stress"));
+        try {
+            stressReport.write(results);
+            System.out.println("Stress results written to " + results + ".csv and " + results + ".json");
+        } catch (IOException e) {
+            System.err.println("Error writing stress results: " + e.getMessage());
         }
+        loop.stop();
+        System.exit(0);
+    }
+
+    // Back to the menu with a normal, keyboard-driven world
+    private void endReplay() {
+        System.out.println("Replay finished after " + replay.getTick() + " ticks, score " + world.getScore());
+        replay = null;
+        world = new World(width, height, key, sound, rand);
+        metrics = new Metrics(world, sound);
+        playerName = "";
+        gameState = GameState.STARTUP;
     }
 
     private void initKeyboard() {
         key = new Key();
-        requestFocus();
-        addKeyListener(new KeyAdapter() {
+        // The canvas, when there is one, covers the panel and takes the focus
+        Component input = canvas != null ? canvas : this;
+        input.requestFocus();
+        // Key events are handed to the game loop and applied at the start of the next tick
+        input.addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) {
-                int keyCode = e.getKeyCode();
-                if (null == gameState) {
-                    if (keyCode == KeyEvent.VK_Q) {
-                        if (gameState == GameState.STARTUP || gameState == GameState.PLAYING) {
-                            previousState = gameState;
-                            gameState = GameState.CONFIRM_QUIT;
-                        } else {
-                            gameState = GameState.STARTUP;
-                            nameInput.setLength(0);
-                        }
-                    }
-                    switch (keyCode) {
-                        case KeyEvent.VK_A: key.setKey_left(true); break;
-                        case KeyEvent.VK_D: key.setKey_right(true); break;
-                        case KeyEvent.VK_SPACE: key.setKey_space(true); break;
-                        case KeyEvent.VK_J: key.setKey_j(true); break;
-                        case KeyEvent.VK_K: key.setKey_k(true); break;
-                        case KeyEvent.VK_ENTER:
-                            if (gameState == GameState.STARTUP) {
-                                gameState = GameState.NAME_ENTRY;
-                            } else if (gameState == GameState.GAME_OVER) {
-                                updateHighScore(); // Update high score before returning to startup
-                                gameState = GameState.STARTUP;
-                                nameInput.setLength(0);
-                            }
-                            break;
-                    }
-                } else switch (gameState) {
-                    case NAME_ENTRY:
-                        if (keyCode >= KeyEvent.VK_A && keyCode <= KeyEvent.VK_Z) {
-                            if (nameInput.length() < 15) {
-                                nameInput.append((char) keyCode);
-                            }
-                        } else if (keyCode == KeyEvent.VK_BACK_SPACE && nameInput.length() > 0) {
-                            nameInput.deleteCharAt(nameInput.length() - 1);
-                        } else if (keyCode == KeyEvent.VK_ENTER && nameInput.length() > 0) {
-                            playerName = nameInput.toString();
-                            resetGame();
-                        } else if (keyCode == KeyEvent.VK_Q) {
-                            gameState = GameState.STARTUP;
-                            nameInput.setLength(0);
-                        }   break;
-                    case CONFIRM_QUIT:
-                        if (keyCode == KeyEvent.VK_Y) {
-                            if (previousState == GameState.STARTUP) {
-                                start = false;
-                                sound.stopBackgroundMusic();
-                                System.exit(0);
-                            } else if (previousState == GameState.PLAYING) {
-                                gameState = GameState.STARTUP;
-                                nameInput.setLength(0);
-                                sound.stopBackgroundMusic();
-                            }
-                        } else if (keyCode == KeyEvent.VK_N) {
-                            gameState = previousState;
-                        }   break;
-                    default:
-                        if (keyCode == KeyEvent.VK_Q) {
-                            if (gameState == GameState.STARTUP || gameState == GameState.PLAYING) {
-                                previousState = gameState;
-                                gameState = GameState.CONFIRM_QUIT;
-                            } else {
-                                gameState = GameState.STARTUP;
-                                nameInput.setLength(0);
-                            }
-                        }   switch (keyCode) {
-                            case KeyEvent.VK_A: key.setKey_left(true); break;
-                            case KeyEvent.VK_D: key.setKey_right(true); break;
-                            case KeyEvent.VK_SPACE: key.setKey_space(true); break;
-                            case KeyEvent.VK_J: key.setKey_j(true); break;
-                            case KeyEvent.VK_K: key.setKey_k(true); break;
-                            case KeyEvent.VK_ENTER:
-                                if (gameState == GameState.STARTUP) {
-                                    gameState = GameState.NAME_ENTRY;
-                                } else if (gameState == GameState.GAME_OVER) {
-                                    updateHighScore(); // Update high score before returning to startup
-                                    gameState = GameState.STARTUP;
-                                    nameInput.setLength(0);
-                                }
-                                break;
-                        }   break;
-                }
+                offerKey(e, true);
             }
 
             @Override
             public void keyReleased(KeyEvent e) {
-                switch (e.getKeyCode()) {
-                    case KeyEvent.VK_A: key.setKey_left(false); break;
-                    case KeyEvent.VK_D: key.setKey_right(false); break;
-                    case KeyEvent.VK_SPACE: key.setKey_space(false); break;
-                    case KeyEvent.VK_J: key.setKey_j(false); break;
-                    case KeyEvent.VK_K: key.setKey_k(false); break;
-                }
+                offerKey(e, false);
             }
         });
-        new Thread(() -> {
-            float s = 0.5f;
-            Random rand = new Random();
-            while (start) {
-                try {
-                    if (gameState == GameState.PLAYING && player.isAlive()) {
-                        float angle = player.getAngle();
-                        if (key.isKey_left()) angle -= s;
-                        if (key.isKey_right()) angle += s;
-                        if (key.isKey_j() || key.isKey_k()) {
-                            if (shotTime == 0) {
-                                if (key.isKey_j()) {
-                                    bullets.add(new Bullet(player.getX(), player.getY(), angle, 8, 3f, new Color(169, 169, 169)));
-                                    sound.soundShoot();
-                                } else if (key.isKey_k() && largeBulletsUsed < largeAmmoLimit) {
-                                    bullets.add(new Bullet(player.getX(), player.getY(), angle, 25, 3f, new Color(184, 115, 51)));
-                                    largeBulletsUsed++;
-                                    sound.soundBigBullet();
-                                }
-                            }
-                            shotTime++;
-                            if (shotTime == 15) shotTime = 0;
-                        } else {
-                            shotTime = 0;
-                        }
-                        if (key.isKey_space()) player.speedUp();
-                        else player.speedDown();
-                        player.update();
-                        
-                        double newX = player.getX();
-                        double newY = player.getY();
-                        if (newX < 0) newX = 0;
-                        else if (newX + Player.PLAYER_SIZE > width) newX = width - Player.PLAYER_SIZE;
-                        if (newY < 0) newY = 0;
-                        else if (newY + Player.PLAYER_SIZE > height) newY = height - Player.PLAYER_SIZE;
-                        player.changeLocation(newX, newY);
-                        
-                        player.changeAngle(angle);
-                        
-                        long currentTime = System.currentTimeMillis();
-                        if (largeBulletsUsed >= largeAmmoLimit && currentTime - lastReloadTime >= reloadInterval) {
-                            largeBulletsUsed = 0;
-                            lastReloadTime = currentTime;
-                        }
-                    }
-                    if (gameState == GameState.PLAYING || gameState == GameState.GAME_OVER) {
-                        for (Rocket rocket : rockets) {
-                            if (rocket != null && start) {
-                                rocket.update();
-                                if (gameState == GameState.PLAYING && rand.nextFloat() < 0.01f) {
-                                    double bulletX = rocket.getX() + Rocket.ROCKET_SIZE / 2;
-                                    double bulletY = rocket.getY();
-                                    bulletX += -40;
-                                    bulletY += 20;
-                                    rocketBullets.add(new Bullet(bulletX, bulletY, 90, 8, 2f, Color.RED));
-                                    sound.soundShoot();
-                                }
-                                if (!rocket.check(width, height)) {
-                                    rockets.remove(rocket);
-                                } else if (gameState == GameState.PLAYING && player.isAlive()) {
-                                    checkPlayer(rocket);
-                                }
-                            }
-                        }
-                    }
-                    sleep(5);
-                } catch (Exception e) {
-                    System.err.println("Error in keyboard thread: " + e.getMessage());
-                }
+    }
+
+    private void offerKey(KeyEvent e, boolean pressed) {
+        // Back-date by the time the event took to reach the event thread
+        long delayMillis = Math.max(0, System.currentTimeMillis() - e.getWhen());
+        keyEvents.offer(e.getKeyCode(), pressed, System.nanoTime() - delayMillis * 1000000);
+    }
+
+    private void processKeyEvents() {
+        int pressedThisTick = 0;
+        while (keyEvents.peek()) {
+            int keyCode = keyEvents.getCode();
+            if (keyEvents.isPressed()) {
+                keyPressed(keyCode);
+                pressedThisTick |= gameKeyBit(keyCode);
+                metrics.inputApplied(keyEvents.getNanos());
+            } else if ((pressedThisTick & gameKeyBit(keyCode)) != 0) {
+                // Pressed and released within one tick: keep it down for this tick so a quick tap is not lost
+                break;
+            } else {
+                keyReleased(keyCode);
             }
-        }).start();
+            keyEvents.consume();
+        }
     }
 
-    private void addRocket() {
-        Random ran = new Random();
-        int locationX = ran.nextInt(width - 50) + 25;
-        Rocket rocket = new Rocket();
-        rocket.changeLocation(locationX, 0);
-        rocket.changeAngle(90);
-        rockets.add(rocket);
+    private static int gameKeyBit(int keyCode) {
+        switch (keyCode) {
+            case KeyEvent.VK_A: return 1;
+            case KeyEvent.VK_D: return 2;
+            case KeyEvent.VK_SPACE: return 4;
+            case KeyEvent.VK_J: return 8;
+            case KeyEvent.VK_K: return 16;
+            default: return 0;
+        }
     }
 
-    private void initBullets() {
-        new Thread(() -> {
-            while (start) {
-                try {
-                    if (gameState == GameState.PLAYING) {
-                        for (int i = 0; i < bullets.size() && start; i++) {
-                            Bullet bullet = bullets.get(i);
-                            if (bullet != null) {
-                                bullet.update();
-                                checkBullets(bullet);
-                                if (!bullet.check(width, height)) {
-                                    bullets.remove(i);
-                                    i--;
-                                }
-                            }
-                        }
-                        for (int i = 0; i < rocketBullets.size() && start; i++) {
-                            Bullet bullet = rocketBullets.get(i);
-                            if (bullet != null) {
-                                bullet.update();
-                                checkRocketBullets(bullet);
-                                if (!bullet.check(width, height)) {
-                                    rocketBullets.remove(i);
-                                    i--;
-                                }
-                            }
-                        }
-                        for (int i = 0; i < boomEffects.size() && start; i++) {
-                            Effect boomEffect = boomEffects.get(i);
-                            if (boomEffect != null) {
-                                boomEffect.update();
-                                if (!boomEffect.check()) {
-                                    boomEffects.remove(i);
-                                    i--;
-                                }
-                            }
-                        }
-                    }
-                    sleep(1);
-                } catch (Exception e) {
-                    System.err.println("Error in bullet thread: " + e.getMessage());
+    private void keyPressed(int keyCode) {
+        if (keyCode == KeyEvent.VK_F3) {
+            showMetrics = !showMetrics;
+            return;
+        }
+        if (keyCode == KeyEvent.VK_F4) {
+            nextFps();
+            return;
+        }
+        if (keyCode == KeyEvent.VK_F5) {
+            nextRenderScale();
+            return;
+        }
+        if (keyCode == KeyEvent.VK_F11) {
+            toggleFullScreen();
+            return;
+        }
+        // A replay or stress run ignores the keyboard; Q stops it
+        if (replay != null) {
+            if (keyCode == KeyEvent.VK_Q) {
+                endReplay();
+            }
+            return;
+        }
+        if (stress != null) {
+            if (keyCode == KeyEvent.VK_Q) {
+                endStress();
+            }
+            return;
+        }
+        if (null == gameState) {
+            if (keyCode == KeyEvent.VK_Q) {
+                if (gameState == GameState.STARTUP || gameState == GameState.PLAYING) {
+                    previousState = gameState;
+                    gameState = GameState.CONFIRM_QUIT;
+                } else {
+                    gameState = GameState.STARTUP;
+                    nameInput.setLength(0);
                 }
             }
-        }).start();
-    }
-
-    private void checkBullets(Bullet bullet) {
-        for (int i = 0; i < rockets.size() && start; i++) {
-            Rocket rocket = rockets.get(i);
-            if (rocket != null) {
-                Area area = new Area(bullet.getShape());
-                area.intersect(rocket.getShape());
-                if (!area.isEmpty()) {
-                    boomEffects.add(new Effect(bullet.getCenterX(), bullet.getCenterY(), 3, 5, 60, 0.5f, new Color(230, 207, 105)));
-                    if (!rocket.updateHP(bullet.getSize())) {
-                        score++;
-                        if (score % 10 == 0 && player.isAlive()) {
-                            player.resetHP();
-                            sound.soundHit();
-                        }
-                        rockets.remove(i);
-                        i--;
-                        sound.soundDestroy();
-                        double x = rocket.getX() + Rocket.ROCKET_SIZE / 2;
-                        double y = rocket.getY() + Rocket.ROCKET_SIZE / 2;
-                        boomEffects.add(new Effect(x, y, 15, 20, 30, 1.0f, new Color(255, 255, 255)));
-                        boomEffects.add(new Effect(x, y, 10, 15, 40, 0.8f, new Color(255, 150, 0)));
-                        boomEffects.add(new Effect(x, y, 20, 5, 50, 0.3f, new Color(32, 178, 169, 150)));
-                        for (int j = 0; j < 8; j++) {
-                            float sparkSpeed = 2.0f + (float) Math.random() * 1.0f;
-                            boomEffects.add(new Effect(x, y, 2, 3, 20 + j * 5, sparkSpeed, new Color(255, 70, 70)));
-                        }
-                        for (int j = 0; j < 5; j++) {
-                            float debrisSpeed = 0.5f + (float) Math.random() * 0.5f;
-                            boomEffects.add(new Effect(x, y, 5, 5, 60 + j * 10, debrisSpeed, new Color(100, 100, 100)));
-                        }
-                        boomEffects.add(new Effect(x, y, 20, 10, 100, 0.1f, new Color(50, 50, 50, 100)));
-                    } else {
-                        sound.soundHit();
+            switch (keyCode) {
+                case KeyEvent.VK_A: key.setKey_left(true); break;
+                case KeyEvent.VK_D: key.setKey_right(true); break;
+                case KeyEvent.VK_SPACE: key.setKey_space(true); break;
+                case KeyEvent.VK_J: key.setKey_j(true); break;
+                case KeyEvent.VK_K: key.setKey_k(true); break;
+                case KeyEvent.VK_ENTER:
+                    if (gameState == GameState.STARTUP) {
+                        gameState = GameState.NAME_ENTRY;
+                    } else if (gameState == GameState.GAME_OVER) {
+                        gameState = GameState.STARTUP;
+                        nameInput.setLength(0);
                     }
-                    bullets.remove(bullet);
                     break;
-                }
             }
+        } else switch (gameState) {
+            case NAME_ENTRY:
+                if (keyCode >= KeyEvent.VK_A && keyCode <= KeyEvent.VK_Z) {
+                    if (nameInput.length() < 15) {
+                        nameInput.append((char) keyCode);
+                    }
+                } else if (keyCode == KeyEvent.VK_BACK_SPACE && nameInput.length() > 0) {
+                    nameInput.deleteCharAt(nameInput.length() - 1);
+                } else if (keyCode == KeyEvent.VK_ENTER && nameInput.length() > 0) {
+                    playerName = nameInput.toString();
+                    hud.setPlayerName(playerName);
+                    resetGame();
+                } else if (keyCode == KeyEvent.VK_Q) {
+                    gameState = GameState.STARTUP;
+                    nameInput.setLength(0);
+                }   break;
+            case CONFIRM_QUIT:
+                if (keyCode == KeyEvent.VK_Y) {
+                    if (previousState == GameState.STARTUP) {
+                        loop.stop();
+                        sound.stopBackgroundMusic();
+                        scores.close();
+                        System.exit(0);
+                    } else if (previousState == GameState.PLAYING) {
+                        gameState = GameState.STARTUP;
+                        nameInput.setLength(0);
+                        sound.stopBackgroundMusic();
+                    }
+                } else if (keyCode == KeyEvent.VK_N) {
+                    gameState = previousState;
+                    if (gameState == GameState.PLAYING) {
+                        sound.resumeBackgroundMusic();
+                    }
+                }   break;
+            default:
+                if (keyCode == KeyEvent.VK_Q) {
+                    if (gameState == GameState.STARTUP || gameState == GameState.PLAYING) {
+                        if (gameState == GameState.PLAYING) {
+                            sound.pauseBackgroundMusic(); // The game is frozen while asking
+                        }
+                        previousState = gameState;
+                        gameState = GameState.CONFIRM_QUIT;
+                    } else {
+                        gameState = GameState.STARTUP;
+                        nameInput.setLength(0);
+                    }
+                }   switch (keyCode) {
+                    case KeyEvent.VK_A: key.setKey_left(true); break;
+                    case KeyEvent.VK_D: key.setKey_right(true); break;
+                    case KeyEvent.VK_SPACE: key.setKey_space(true); break;
+                    case KeyEvent.VK_J: key.setKey_j(true); break;
+                    case KeyEvent.VK_K: key.setKey_k(true); break;
+                    case KeyEvent.VK_ENTER:
+                        if (gameState == GameState.STARTUP) {
+                            gameState = GameState.NAME_ENTRY;
+                        } else if (gameState == GameState.GAME_OVER) {
+                            gameState = GameState.STARTUP;
+                            nameInput.setLength(0);
+                        }
+                        break;
+                }   break;
         }
     }
 
-    private void checkRocketBullets(Bullet bullet) {
-        if (player.isAlive()) {
-            Area area = new Area(bullet.getShape());
-            area.intersect(player.getShape());
-            if (!area.isEmpty()) {
-                if (!player.updateHP(10)) {
-                    player.setAlive(false);
-                    sound.soundDestroy();
-                    double x = player.getX() + Player.PLAYER_SIZE / 2;
-                    double y = player.getY() + Player.PLAYER_SIZE / 2;
-                    boomEffects.add(new Effect(x, y, 5, 5, 75, 0.05f, new Color(32, 178, 169)));
-                    boomEffects.add(new Effect(x, y, 5, 5, 75, 0.1f, new Color(32, 178, 169)));
-                    boomEffects.add(new Effect(x, y, 10, 10, 100, 0.3f, new Color(230, 207, 105)));
-                    boomEffects.add(new Effect(x, y, 10, 5, 100, 0.5f, new Color(255, 70, 70)));
-                    boomEffects.add(new Effect(x, y, 10, 5, 150, 0.2f, new Color(255, 255, 255)));
-                    gameState = GameState.GAME_OVER;
-                } else {
-                    sound.soundHit();
-                }
-                rocketBullets.remove(bullet);
-            }
+    private void keyReleased(int keyCode) {
+        switch (keyCode) {
+            case KeyEvent.VK_A: key.setKey_left(false); break;
+            case KeyEvent.VK_D: key.setKey_right(false); break;
+            case KeyEvent.VK_SPACE: key.setKey_space(false); break;
+            case KeyEvent.VK_J: key.setKey_j(false); break;
+            case KeyEvent.VK_K: key.setKey_k(false); break;
         }
     }
 
-    private void checkPlayer(Rocket rocket) {
-        if (rocket != null && player.isAlive()) {
-            Area area = new Area(player.getShape());
-            area.intersect(rocket.getShape());
-            if (!area.isEmpty()) {
-                double rocketHp = rocket.getHP();
-                if (!rocket.updateHP(player.getHP())) {
-                    rockets.remove(rocket);
-                    sound.soundDestroy();
-                    double x = rocket.getX() + Rocket.ROCKET_SIZE / 2;
-                    double y = rocket.getY() + Rocket.ROCKET_SIZE / 2;
-                    boomEffects.add(new Effect(x, y, 5, 5, 75, 0.05f, new Color(32, 178, 169)));
-                    boomEffects.add(new Effect(x, y, 5, 5, 75, 0.1f, new Color(32, 178, 169)));
-                    boomEffects.add(new Effect(x, y, 10, 10, 100, 0.3f, new Color(230, 207, 105)));
-                    boomEffects.add(new Effect(x, y, 10, 5, 100, 0.5f, new Color(255, 70, 70)));
-                    boomEffects.add(new Effect(x, y, 10, 5, 150, 0.2f, new Color(255, 255, 255)));
+    private void updateGame() {
+        processKeyEvents();
+        if (recorder != null && gameState == GameState.STARTUP) {
+            stopRecording();
+        }
+        if (gameState == GameState.PLAYING || gameState == GameState.GAME_OVER) {
+            if (replay != null && !replay.advance()) {
+                endReplay();
+                return;
+            }
+            if (recorder != null) {
+                recorder.record(key);
+            }
+            if (stress != null) {
+                if (stressFrameStart == 0) {
+                    stressFrameStart = System.nanoTime();
                 }
-                if (!player.updateHP(rocketHp)) {
-                    player.setAlive(false);
-                    sound.soundDestroy();
-                    double x = player.getX() + Player.PLAYER_SIZE / 2;
-                    double y = player.getY() + Player.PLAYER_SIZE / 2;
-                    boomEffects.add(new Effect(x, y, 5, 5, 75, 0.05f, new Color(32, 178, 169)));
-                    boomEffects.add(new Effect(x, y, 5, 5, 75, 0.1f, new Color(32, 178, 169)));
-                    boomEffects.add(new Effect(x, y, 10, 10, 100, 0.3f, new Color(230, 207, 105)));
-                    boomEffects.add(new Effect(x, y, 10, 5, 100, 0.5f, new Color(255, 70, 70)));
-                    boomEffects.add(new Effect(x, y, 10, 5, 150, 0.2f, new Color(255, 255, 255)));
-                    gameState = GameState.GAME_OVER;
+                stress.populate(world);
+            }
+            long tickStart = System.nanoTime();
+            metrics.beginTick();
+            world.update();
+            metrics.endTick();
+            governor.recordTick(System.nanoTime() - tickStart);
+            if (stress != null && stress.isMeasuring()) {
+                stressReport.recordTick(world, System.nanoTime() - tickStart);
+            }
+            if (gameState == GameState.PLAYING && world.isGameOver()) {
+                gameState = GameState.GAME_OVER;
+                sound.stopBackgroundMusic();
+                if (replay == null) {
+                    scores.submit(playerName, world.getScore());
                 }
             }
         }
     }
 
+    // Restores the damaged area from the cached background, in buffer pixels
     private void drawBackground() {
-        if (backgroundImage != null) {
-            g2.drawImage(backgroundImage, 0, 0, width, height, null);
-        } else {
-            g2.setColor(new Color(0, 51, 102));
-            g2.fillRect(0, 0, width, height);
+        if (damage.isFull()) {
+            if (background != null) {
+                g2.drawImage(background, 0, 0, null);
+            } else {
+                g2.setColor(BACKGROUND_COLOR);
+                g2.fillRect(0, 0, viewport.getBufferWidth(), viewport.getBufferHeight());
+            }
+            return;
+        }
+        for (Rectangle logical : damage.getRects()) {
+            Rectangle r = viewport.toBuffer(logical, bufferRect);
+            if (background != null) {
+                int x2 = r.x + r.width;
+                int y2 = r.y + r.height;
+                g2.drawImage(background, r.x, r.y, x2, y2, r.x, r.y, x2, y2, null);
+            } else {
+                g2.setColor(BACKGROUND_COLOR);
+                g2.fillRect(r.x, r.y, r.width, r.height);
+            }
         }
     }
 
-    private void drawGame() {
+    // Places this frame's text and adds the area this frame's sprites cover to the footprint
+    private void layoutGame(float interpolation) {
         switch (gameState) {
-            case STARTUP: drawInstructions(); break;
-            case NAME_ENTRY: drawNameEntry(); break;
-            case PLAYING: drawPlayingState(); break;
-            case GAME_OVER: drawGameOver(); break;
-            case CONFIRM_QUIT: drawConfirmQuit(); break;
-        }
-    }
-
-    private void drawInstructions() {
-        g2.setColor(Color.WHITE);
-        g2.setFont(getFont().deriveFont(Font.BOLD, 30f));
-        FontMetrics fm = g2.getFontMetrics();
-        String title = "Rocket Man";
-        Rectangle2D r2 = fm.getStringBounds(title, g2);
-        double x = (width - r2.getWidth()) / 2;
-        double y = height / 4;
-        g2.drawString(title, (int) x, (int) y);
-
-        g2.setFont(getFont().deriveFont(Font.PLAIN, 20f));
-        fm = g2.getFontMetrics();
-        String[] instructions = {
-            "Instructions:",
-            "A/D: Rotate Left/Right",
-            "Space: Speed Up",
-            "J: Shoot Small Bullet (Unlimited)",
-            "K: Shoot Rockets (10, reloads every 10s)",
-            "Enter: Start Game",
-            "Q: Quit (Confirm with Y/N)",
-            "Press Enter to Continue"
-        };
-        int lineHeight = 30;
-        y = height / 2 - (instructions.length * lineHeight) / 2;
-        for (String line : instructions) {
-            r2 = fm.getStringBounds(line, g2);
-            x = (width - r2.getWidth()) / 2;
-            g2.drawString(line, (int) x, (int) y);
-            y += lineHeight;
-        }
-
-        // Display high score
-        g2.setFont(getFont().deriveFont(Font.PLAIN, 20f));
-        fm = g2.getFontMetrics();
-        String highScoreText = "High Score: " + highScorePlayer + " - " + highScore;
-        r2 = fm.getStringBounds(highScoreText, g2);
-        x = (width - r2.getWidth()) / 2;
-        y += 20;
-        g2.drawString(highScoreText, (int) x, (int) y);
-
-        g2.setFont(getFont().deriveFont(Font.PLAIN, 15f));
-        fm = g2.getFontMetrics();
-        String copyright = "© 2025 Pacyuzu Inc. All rights reserved.";
-        r2 = fm.getStringBounds(copyright, g2);
-        x = (width - r2.getWidth()) / 2;
-        y += 20;
-        g2.drawString(copyright, (int) x, (int) y);
-    }
-
-    private void drawNameEntry() {
-        g2.setColor(Color.WHITE);
-        g2.setFont(getFont().deriveFont(Font.BOLD, 30f));
-        FontMetrics fm = g2.getFontMetrics();
-        String prompt = "Enter Your Name:";
-        Rectangle2D r2 = fm.getStringBounds(prompt, g2);
-        double x = (width - r2.getWidth()) / 2;
-        double y = height / 3;
-        g2.drawString(prompt, (int) x, (int) y);
-
-        g2.setFont(getFont().deriveFont(Font.PLAIN, 25f));
-        fm = g2.getFontMetrics();
-        String name = nameInput.toString();
-        if (name.isEmpty()) {
-            name = "Type your name...";
-            g2.setColor(Color.GRAY);
-        } else {
-            g2.setColor(Color.WHITE);
+            case STARTUP: showInstructions(); break;
+            case NAME_ENTRY: hud.showNameEntry(nameInput); break;
+            case PLAYING:
+                addWorldBounds(interpolation);
+                hud.showPlaying(world);
+                break;
+            case GAME_OVER:
+                addWorldBounds(interpolation);
+                hud.showPlaying(world);
+                hud.showGameOver(world.getScore());
+                break;
+            case CONFIRM_QUIT: hud.showConfirmQuit(previousState == GameState.STARTUP); break;
         }
-        r2 = fm.getStringBounds(name, g2);
-        x = (width - r2.getWidth()) / 2;
-        y = height / 2;
-        g2.drawString(name, (int) x, (int) y);
+        hud.showNotice();
+    }
 
-        g2.setColor(Color.WHITE);
-        g2.setFont(getFont().deriveFont(Font.PLAIN, 20f));
-        fm = g2.getFontMetrics();
-        String instruction = "Press Enter to Confirm, Q to Home";
-        r2 = fm.getStringBounds(instruction, g2);
-        x = (width - r2.getWidth()) / 2;
-        y = height * 2 / 3;
-        g2.drawString(instruction, (int) x, (int) y);
+    private void showInstructions() {
+        ScoreEntry leader = scores.getLeaderboard().getLeader();
+        if (leader != null) {
+            hud.showInstructions(leader.getName(), leader.getScore());
+        } else {
+            hud.showInstructions("None", 0);
+        }
     }
 
-    private void drawPlayingState() {
+    private void addWorldBounds(float interpolation) {
+        Player player = world.getPlayer();
+        EntityStore<Bullet> bullets = world.getBullets();
+        EntityStore<Bullet> rocketBullets = world.getRocketBullets();
+        EntityStore<Rocket> rockets = world.getRockets();
         if (player.isAlive()) {
-            player.draw(g2);
-        }
-        for (Bullet bullet : bullets) {
-            if (bullet != null) bullet.draw(g2);
-        }
-        for (Bullet bullet : rocketBullets) {
-            if (bullet != null) bullet.draw(g2);
-        }
-        for (Rocket rocket : rockets) {
-            if (rocket != null) rocket.draw(g2);
-        }
-        for (Effect boomEffect : boomEffects) {
-            if (boomEffect != null) boomEffect.draw(g2);
-        }
-        g2.setColor(Color.WHITE);
-        g2.setFont(getFont().deriveFont(Font.BOLD, 15f));
-        g2.drawString("Player: " + playerName, 10, 20);
-        g2.drawString("Score: " + score, 10, 40);
-        g2.drawString("Rockets: " + largeBulletsUsed + "/" + largeAmmoLimit, 10, 60);
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
-        String currentTime = LocalTime.now().format(timeFormatter);
-        g2.drawString("Time: " + currentTime, 10, 80);
-
-        if (largeBulletsUsed >= largeAmmoLimit) {
-            long currentTimeMillis = System.currentTimeMillis();
-            long timeSinceLastReload = currentTimeMillis - lastReloadTime;
-            int secondsRemaining = (int) ((reloadInterval - timeSinceLastReload) / 1000);
-            if (secondsRemaining > 0) {
-                g2.setColor(Color.RED);
-                g2.drawString("Large Bullet Reload: " + secondsRemaining + "s", 10, 100);
-            }
+            player.addBounds(footprint, interpolation);
+        }
+        for (int i = 0; i < bullets.size(); i++) {
+            bullets.get(i).addBounds(footprint, interpolation);
+        }
+        for (int i = 0; i < rocketBullets.size(); i++) {
+            rocketBullets.get(i).addBounds(footprint, interpolation);
+        }
+        for (int i = 0; i < rockets.size(); i++) {
+            rockets.get(i).addBounds(footprint, interpolation);
         }
+        world.getBoomEffects().addBounds(footprint, interpolation);
     }
 
-    private void drawGameOver() {
-        drawPlayingState();
-        sound.stopBackgroundMusic();
-        g2.setColor(Color.WHITE);
-        g2.setFont(getFont().deriveFont(Font.BOLD, 50f));
-        FontMetrics fm = g2.getFontMetrics();
-        String text = "GAME OVER";
-        Rectangle2D r2 = fm.getStringBounds(text, g2);
-        double textWidth = r2.getWidth();
-        double textHeight = r2.getHeight();
-        double x = (width - textWidth) / 2;
-        double y = (height - textHeight) / 2 - 50;
-        g2.drawString(text, (int) x, (int) y + fm.getAscent());
-
-        g2.setFont(getFont().deriveFont(Font.BOLD, 25f));
-        fm = g2.getFontMetrics();
-        String killMessage = playerName + ", you killed " + score + " rockets!";
-        r2 = fm.getStringBounds(killMessage, g2);
-        textWidth = r2.getWidth();
-        double x2 = (width - textWidth) / 2;
-        double y2 = (height - textHeight) / 2 + 20;
-        g2.drawString(killMessage, (int) x2, (int) y2 + fm.getAscent());
-
-        g2.setFont(getFont().deriveFont(Font.BOLD, 15f));
-        fm = g2.getFontMetrics();
-        String textKey = "Press Enter or Q to Home";
-        r2 = fm.getStringBounds(textKey, g2);
-        textWidth = r2.getWidth();
-        double x3 = (width - textWidth) / 2;
-        double y3 = (height - textHeight) / 2 + 70;
-        g2.drawString(textKey, (int) x3, (int) y3 + fm.getAscent());
-    }
-
-    private void drawConfirmQuit() {
-        g2.setColor(Color.WHITE);
-        g2.setFont(getFont().deriveFont(Font.BOLD, 30f));
-        FontMetrics fm = g2.getFontMetrics();
-        String text = previousState == GameState.STARTUP ? "Quit Game? (Y/N)" : "Return to Home? (Y/N)";
-        Rectangle2D r2 = fm.getStringBounds(text, g2);
-        double textWidth = r2.getWidth();
-        double textHeight = r2.getHeight();
-        double x = (width - textWidth) / 2;
-        double y = (height - textHeight) / 2;
-        g2.drawString(text, (int) x, (int) y + fm.getAscent());
-    }
-
-    private void render() {
-        Graphics g = getGraphics();
-        if (g != null) {
-            g.drawImage(image, 0, 0, null);
-            g.dispose();
-        }
-    }
-
-    private void sleep(long speed) {
-        try {
-            Thread.sleep(speed);
-        } catch (InterruptedException ex) {
-            System.err.println("Sleep interrupted: " + ex.getMessage());
+    // Every sprite lies inside the damage, since its own bounds are part of it
+    private void drawWorld(float interpolation) {
+        Player player = world.getPlayer();
+        EntityStore<Bullet> bullets = world.getBullets();
+        EntityStore<Bullet> rocketBullets = world.getRocketBullets();
+        EntityStore<Rocket> rockets = world.getRockets();
+        if (player.isAlive()) {
+            player.draw(g2, interpolation);
+        }
+        for (int i = 0; i < bullets.size(); i++) {
+            bullets.get(i).draw(g2, interpolation);
+        }
+        for (int i = 0; i < rocketBullets.size(); i++) {
+            rocketBullets.get(i).draw(g2, interpolation);
+        }
+        for (int i = 0; i < rockets.size(); i++) {
+            rockets.get(i).draw(g2, interpolation);
         }
+        world.getBoomEffects().draw(g2, interpolation);
     }
-}
\ No newline at end of file
+}
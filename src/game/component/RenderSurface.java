@@ -0,0 +1,28 @@
+package game.component;
+
+import game.obj.DirtyRegion;
+import java.awt.Graphics2D;
+
+/**
+ * Where {@link PanelGame} draws a frame and how that frame reaches the
+ * screen. A frame is drawn between {@link #begin()} and {@link #show}; when
+ * show reports lost contents the frame is drawn again. A surface that keeps
+ * the last frame in its buffer only needs the damaged region redrawn and
+ * presented; one that does not is always drawn in full. The buffer is sized
+ * by a {@link Viewport}, which also places it in the window.
+ */
+public interface RenderSurface {
+
+    // Reallocates the buffer if the viewport needs one of another size; the next frame must be drawn in full
+    void setViewport(Viewport viewport);
+
+    Graphics2D begin();
+
+    // Whether the buffer returned by the last begin() still holds the previous frame
+    boolean isRetained();
+
+    // Presents the damaged region; returns false if the frame was lost before reaching the screen and must be redrawn
+    boolean show(DirtyRegion damage);
+
+    void dispose();
+}
@@ -0,0 +1,97 @@
+package game.component;
+
+import game.obj.Assets;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * One line of text rendered into an image and redrawn only when its content
+ * changes. Labels that show numbers are keyed by the value, so the string is
+ * only built when {@link #changed(long)} reports a new one.
+ */
+public class TextLabel {
+
+    // Measures text without a screen graphics
+    private static final Graphics2D MEASURE = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+
+    private final Font font;
+    private final Color color;
+    private final FontMetrics metrics;
+    private String text;
+    private long key = Long.MIN_VALUE;
+    private BufferedImage image;
+
+    public TextLabel(Font font, Color color) {
+        this.font = font;
+        this.color = color;
+        synchronized (MEASURE) {
+            MEASURE.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            metrics = MEASURE.getFontMetrics(font);
+        }
+    }
+
+    public TextLabel(Font font, Color color, String text) {
+        this(font, color);
+        setText(text);
+    }
+
+    // True once per new key; the caller then sets the matching text
+    public boolean changed(long key) {
+        if (key == this.key && image != null) {
+            return false;
+        }
+        this.key = key;
+        return true;
+    }
+
+    public void invalidate() {
+        image = null;
+    }
+
+    public void setText(CharSequence text) {
+        if (image != null && this.text.contentEquals(text)) {
+            return;
+        }
+        this.text = text.toString();
+        int w = Math.max(1, metrics.stringWidth(this.text));
+        int h = Math.max(1, metrics.getAscent() + metrics.getDescent());
+        image = Assets.compatibleImage(w, h, Transparency.TRANSLUCENT);
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setFont(font);
+        g2.setColor(color);
+        g2.drawString(this.text, 0, metrics.getAscent());
+        g2.dispose();
+    }
+
+    BufferedImage getImage() {
+        return image;
+    }
+
+    public int getWidth() {
+        return image.getWidth();
+    }
+
+    // Line height including leading, as FontMetrics.getStringBounds reports it
+    public int getLineHeight() {
+        return metrics.getHeight();
+    }
+
+    public int getAscent() {
+        return metrics.getAscent();
+    }
+
+    // Draws with the text baseline at y
+    public void draw(Graphics2D g2, int x, int y) {
+        g2.drawImage(image, x, y - metrics.getAscent(), null);
+    }
+
+    public void drawCentered(Graphics2D g2, int width, int y) {
+        draw(g2, (width - image.getWidth()) / 2, y);
+    }
+}
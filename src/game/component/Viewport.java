@@ -0,0 +1,124 @@
+package game.component;
+
+import java.awt.Rectangle;
+
+/**
+ * Maps the game's logical screen onto the back buffer and the window. The
+ * game draws in logical coordinates; the back buffer holds them at the
+ * window's scale times the render scale, and is stretched in one blit onto
+ * the largest rectangle of the window with the logical aspect ratio,
+ * centred between black bars. At a render scale of 1 the buffer matches
+ * that rectangle pixel for pixel.
+ */
+public class Viewport {
+
+    public static final double MIN_RENDER_SCALE = 0.5;
+    public static final double MAX_RENDER_SCALE = 2.0;
+
+    private final int logicalWidth;
+    private final int logicalHeight;
+    private final int windowWidth;
+    private final int windowHeight;
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+    private final int bufferWidth;
+    private final int bufferHeight;
+
+    public Viewport(int logicalWidth, int logicalHeight, int windowWidth, int windowHeight, double renderScale) {
+        this(logicalWidth, logicalHeight, windowWidth, windowHeight, renderScale, 0, 0);
+    }
+
+    private Viewport(int logicalWidth, int logicalHeight, int windowWidth, int windowHeight, double renderScale,
+            int bufferWidth, int bufferHeight) {
+        this.logicalWidth = logicalWidth;
+        this.logicalHeight = logicalHeight;
+        this.windowWidth = Math.max(1, windowWidth);
+        this.windowHeight = Math.max(1, windowHeight);
+        double fit = Math.min(this.windowWidth / (double) logicalWidth, this.windowHeight / (double) logicalHeight);
+        width = Math.max(1, (int) Math.round(logicalWidth * fit));
+        height = Math.max(1, (int) Math.round(logicalHeight * fit));
+        x = (this.windowWidth - width) / 2;
+        y = (this.windowHeight - height) / 2;
+        double scale = Math.max(MIN_RENDER_SCALE, Math.min(MAX_RENDER_SCALE, renderScale));
+        this.bufferWidth = bufferWidth > 0 ? bufferWidth : Math.max(1, (int) Math.round(width * scale));
+        this.bufferHeight = bufferHeight > 0 ? bufferHeight : Math.max(1, (int) Math.round(height * scale));
+    }
+
+    // The same buffer shown in a window of another size, until the size settles and the buffer is reallocated
+    public Viewport withWindow(int windowWidth, int windowHeight) {
+        return new Viewport(logicalWidth, logicalHeight, windowWidth, windowHeight, 1, bufferWidth, bufferHeight);
+    }
+
+    public boolean isWindow(int windowWidth, int windowHeight) {
+        return this.windowWidth == windowWidth && this.windowHeight == windowHeight;
+    }
+
+    public boolean hasSameBuffer(Viewport other) {
+        return other != null && bufferWidth == other.bufferWidth && bufferHeight == other.bufferHeight;
+    }
+
+    // Whether the buffer reaches the window without scaling, so damaged rectangles can be copied one by one
+    public boolean isOneToOne() {
+        return bufferWidth == width && bufferHeight == height;
+    }
+
+    // Black bars either side of the game picture
+    public boolean isLetterboxed() {
+        return width != windowWidth || height != windowHeight;
+    }
+
+    public double getScaleX() {
+        return bufferWidth / (double) logicalWidth;
+    }
+
+    public double getScaleY() {
+        return bufferHeight / (double) logicalHeight;
+    }
+
+    // Buffer pixels covering a logical rectangle, rounded outwards and clipped to the buffer
+    public Rectangle toBuffer(Rectangle logical, Rectangle out) {
+        double sx = getScaleX();
+        double sy = getScaleY();
+        int x1 = Math.max(0, (int) Math.floor(logical.x * sx));
+        int y1 = Math.max(0, (int) Math.floor(logical.y * sy));
+        int x2 = Math.min(bufferWidth, (int) Math.ceil((logical.x + logical.width) * sx));
+        int y2 = Math.min(bufferHeight, (int) Math.ceil((logical.y + logical.height) * sy));
+        out.setBounds(x1, y1, x2 - x1, y2 - y1);
+        return out;
+    }
+
+    public int getWindowWidth() {
+        return windowWidth;
+    }
+
+    public int getWindowHeight() {
+        return windowHeight;
+    }
+
+    // The game picture's rectangle in the window
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getBufferWidth() {
+        return bufferWidth;
+    }
+
+    public int getBufferHeight() {
+        return bufferHeight;
+    }
+}
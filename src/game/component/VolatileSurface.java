@@ -0,0 +1,87 @@
+package game.component;
+
+import game.obj.DirtyRegion;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.image.VolatileImage;
+
+/**
+ * Draws into an accelerated {@link VolatileImage} back buffer and copies it
+ * to the component. The buffer is recreated when it no longer matches the
+ * screen, and a frame whose buffer was lost while drawing is redrawn. A new
+ * or restored buffer holds nothing, so the frame after it is drawn in full.
+ */
+public class VolatileSurface implements RenderSurface {
+
+    private final Component component;
+    private final Rectangle scratch = new Rectangle();
+    private Viewport viewport;
+    private VolatileImage buffer;
+    private Graphics2D g2;
+    private boolean retained;
+
+    public VolatileSurface(Component component, Viewport viewport) {
+        this.component = component;
+        this.viewport = viewport;
+    }
+
+    @Override
+    public void setViewport(Viewport viewport) {
+        if (!viewport.hasSameBuffer(this.viewport) && buffer != null) {
+            buffer.flush();
+            buffer = null;
+        }
+        this.viewport = viewport;
+    }
+
+    @Override
+    public Graphics2D begin() {
+        GraphicsConfiguration gc = component.getGraphicsConfiguration();
+        int state = buffer == null ? VolatileImage.IMAGE_INCOMPATIBLE : buffer.validate(gc);
+        if (state == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (buffer != null) {
+                buffer.flush();
+            }
+            buffer = gc.createCompatibleVolatileImage(viewport.getBufferWidth(), viewport.getBufferHeight());
+        }
+        retained = retained && state == VolatileImage.IMAGE_OK;
+        g2 = buffer.createGraphics();
+        return g2;
+    }
+
+    @Override
+    public boolean isRetained() {
+        return retained;
+    }
+
+    @Override
+    public boolean show(DirtyRegion damage) {
+        g2.dispose();
+        if (buffer.contentsLost()) {
+            retained = false;
+            return false;
+        }
+        if (!damage.isEmpty()) {
+            Graphics g = component.getGraphics();
+            if (g != null) {
+                ImageSurface.present(g, buffer, viewport, damage, scratch);
+                g.dispose();
+            }
+            // Flush queued drawing so the frame is on screen now, not whenever the pipeline drains
+            Toolkit.getDefaultToolkit().sync();
+        }
+        retained = !buffer.contentsLost();
+        return retained;
+    }
+
+    @Override
+    public void dispose() {
+        if (buffer != null) {
+            buffer.flush();
+        }
+    }
+}
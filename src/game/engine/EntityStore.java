@@ -0,0 +1,148 @@
+package game.engine;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Dense, unordered entity container. Live entities sit contiguously in
+ * {@code [0, size())} and are visited with a plain index loop. Each entity is
+ * also addressable through a generational handle, which resolves to null once
+ * the entity has been destroyed, even after its slot has been reused.
+ * Destruction is deferred: {@link #destroy(long)} only marks the entity, and
+ * {@link #flush()} swap-removes everything marked, normally at the end of a
+ * tick. Not thread-safe.
+ */
+public class EntityStore<T> {
+
+    private final Consumer<T> onDestroy;
+    private Object[] dense;
+    private int[] denseSlot;
+    private int size;
+    private int[] slotDense;
+    private int[] generation;
+    private boolean[] destroyed;
+    private int[] freeSlots;
+    private int freeCount;
+    private int slotCount;
+    private int[] pending;
+    private int pendingCount;
+
+    public EntityStore(int capacity, Consumer<T> onDestroy) {
+        this.onDestroy = onDestroy;
+        dense = new Object[capacity];
+        denseSlot = new int[capacity];
+        slotDense = new int[capacity];
+        generation = new int[capacity];
+        destroyed = new boolean[capacity];
+        freeSlots = new int[capacity];
+        pending = new int[capacity];
+    }
+
+    public long add(T item) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == slotDense.length) {
+                grow();
+            }
+            slot = slotCount++;
+        }
+        int index = size++;
+        dense[index] = item;
+        denseSlot[index] = slot;
+        slotDense[slot] = index;
+        destroyed[slot] = false;
+        return handle(slot);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) dense[index];
+    }
+
+    public long handleAt(int index) {
+        return handle(denseSlot[index]);
+    }
+
+    // Marked entities stay in place until flush but should be skipped by game logic
+    public boolean isDestroyedAt(int index) {
+        return destroyed[denseSlot[index]];
+    }
+
+    public boolean isAlive(long handle) {
+        int slot = (int) handle;
+        return slot >= 0 && slot < slotCount && generation[slot] == (int) (handle >>> 32) && !destroyed[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T resolve(long handle) {
+        return isAlive(handle) ? (T) dense[slotDense[(int) handle]] : null;
+    }
+
+    public void destroy(long handle) {
+        if (isAlive(handle)) {
+            mark((int) handle);
+        }
+    }
+
+    public void destroyAt(int index) {
+        int slot = denseSlot[index];
+        if (!destroyed[slot]) {
+            mark(slot);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void flush() {
+        for (int i = 0; i < pendingCount; i++) {
+            int slot = pending[i];
+            int index = slotDense[slot];
+            T item = (T) dense[index];
+            int last = --size;
+            dense[index] = dense[last];
+            denseSlot[index] = denseSlot[last];
+            slotDense[denseSlot[index]] = index;
+            dense[last] = null;
+            generation[slot]++;
+            destroyed[slot] = false;
+            freeSlots[freeCount++] = slot;
+            if (onDestroy != null) {
+                onDestroy.accept(item);
+            }
+        }
+        pendingCount = 0;
+    }
+
+    // Destroys everything immediately; outstanding handles become stale
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            destroyAt(i);
+        }
+        flush();
+    }
+
+    private void mark(int slot) {
+        destroyed[slot] = true;
+        pending[pendingCount++] = slot;
+    }
+
+    private long handle(int slot) {
+        return ((long) generation[slot] << 32) | slot;
+    }
+
+    private void grow() {
+        int capacity = slotDense.length * 2;
+        dense = Arrays.copyOf(dense, capacity);
+        denseSlot = Arrays.copyOf(denseSlot, capacity);
+        slotDense = Arrays.copyOf(slotDense, capacity);
+        generation = Arrays.copyOf(generation, capacity);
+        destroyed = Arrays.copyOf(destroyed, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+        pending = Arrays.copyOf(pending, capacity);
+    }
+}
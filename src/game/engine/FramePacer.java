@@ -0,0 +1,92 @@
+package game.engine;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Holds frames to an even rate. Each frame's deadline is one period after
+ * the last deadline rather than after the frame actually ended, so a wait
+ * that wakes late or a period that is not a whole number of milliseconds
+ * comes out of the next wait instead of adding up. The wait parks until
+ * shortly before the deadline and spins the rest, since parking can
+ * overshoot; the spin margin follows the overshoot actually seen. A frame
+ * that runs a whole period late starts a new schedule instead of being
+ * followed by a burst of frames catching up.
+ */
+public class FramePacer {
+
+    public static final int UNCAPPED = 0;
+
+    // Bounds for the spin before each deadline
+    private static final long MIN_SPIN_NANOS = 200000;
+    private static final long MAX_SPIN_NANOS = 4000000;
+
+    private int fps;
+    private long periodNanos;
+    private long deadline;
+    private long spinNanos = 1000000;
+    private long missedFrames;
+
+    // fps of UNCAPPED renders as fast as possible
+    public FramePacer(int fps) {
+        setFps(fps);
+    }
+
+    public void setFps(int fps) {
+        this.fps = Math.max(UNCAPPED, fps);
+        periodNanos = this.fps == UNCAPPED ? 0 : 1000000000L / this.fps;
+        deadline = 0;
+    }
+
+    public int getFps() {
+        return fps;
+    }
+
+    // The frame time the rate allows; 0 when uncapped
+    public long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    // Frames that ran more than a whole period past their deadline
+    public long getMissedFrames() {
+        return missedFrames;
+    }
+
+    // Called at the end of each frame; returns once the next frame is due
+    public void waitForNextFrame() {
+        long now = System.nanoTime();
+        if (periodNanos == 0) {
+            // Let the event thread run between frames
+            Thread.yield();
+            return;
+        }
+        if (deadline == 0) {
+            deadline = now;
+        }
+        deadline += periodNanos;
+        if (now - deadline > periodNanos) {
+            missedFrames++;
+            deadline = now;
+            return;
+        }
+        long park;
+        while ((park = deadline - now - spinNanos) > 0) {
+            LockSupport.parkNanos(park);
+            long woke = System.nanoTime();
+            adaptSpin(woke - now - park);
+            now = woke;
+        }
+        while (System.nanoTime() - deadline < 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    // Jumps up to cover a long overshoot at once, then eases back down
+    private void adaptSpin(long overshoot) {
+        long wanted = Math.min(MAX_SPIN_NANOS, Math.max(MIN_SPIN_NANOS, overshoot + MIN_SPIN_NANOS));
+        if (wanted > spinNanos) {
+            spinNanos = wanted;
+        } else {
+            spinNanos -= (spinNanos - wanted) / 16;
+        }
+    }
+}
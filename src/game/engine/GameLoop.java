@@ -0,0 +1,89 @@
+package game.engine;
+
+/**
+ * Drives the game with a fixed simulation step and a free-running render.
+ * Every system advances by exactly {@link #TICK_MILLIS} per update; rendering
+ * receives the fraction of a tick that has elapsed since the last update so it
+ * can interpolate between the previous and current simulation state. Frames
+ * are paced by a {@link FramePacer}, so the render rate can be anything from
+ * 30 FPS to uncapped while the simulation rate stays fixed.
+ */
+public class GameLoop {
+
+    public interface Game {
+
+        void update();
+
+        void render(float alpha);
+    }
+
+    public static final int TICK_RATE = 200;
+    public static final long TICK_NANOS = 1000000000L / TICK_RATE;
+    public static final double TICK_MILLIS = 1000.0 / TICK_RATE;
+    // Upper bound on catch-up work so a long stall does not spiral
+    private static final int MAX_TICKS_PER_FRAME = 25;
+
+    private final Game game;
+    private final FramePacer pacer;
+    private volatile boolean running;
+    private Thread thread;
+    private long ticks;
+
+    public GameLoop(Game game, FramePacer pacer) {
+        this.game = game;
+        this.pacer = pacer;
+    }
+
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "game-loop");
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    // Angles wrap at 360, so interpolate along the shorter arc
+    public static float interpolateAngle(float from, float to, float t) {
+        float diff = to - from;
+        if (diff > 180) {
+            diff -= 360;
+        } else if (diff < -180) {
+            diff += 360;
+        }
+        return from + diff * t;
+    }
+
+    private void run() {
+        long previous = System.nanoTime();
+        long accumulator = 0;
+        while (running) {
+            long frameStart = System.nanoTime();
+            accumulator += frameStart - previous;
+            previous = frameStart;
+            if (accumulator > MAX_TICKS_PER_FRAME * TICK_NANOS) {
+                accumulator = MAX_TICKS_PER_FRAME * TICK_NANOS;
+            }
+            try {
+                while (accumulator >= TICK_NANOS && running) {
+                    game.update();
+                    ticks++;
+                    accumulator -= TICK_NANOS;
+                }
+                game.render((float) accumulator / TICK_NANOS);
+            } catch (Exception e) {
+                System.err.println("Error in game loop: " + e.getMessage());
+            }
+            pacer.waitForNextFrame();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package game.engine;
+
+/**
+ * Controls read by the {@link World} once per tick. The keyboard-backed
+ * implementation is {@code game.component.Key}; {@link ScriptedInput} replays
+ * a fixed script for headless runs.
+ */
+public interface Input {
+
+    boolean isKey_left();
+
+    boolean isKey_right();
+
+    boolean isKey_space();
+
+    boolean isKey_j();
+
+    boolean isKey_k();
+}
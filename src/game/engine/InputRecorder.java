@@ -0,0 +1,97 @@
+package game.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes one game to a compact binary file that {@link ReplayInput} plays
+ * back: a header with the world size and the seed passed to
+ * {@link World#reset(long)}, then the keys held on each tick as runs of a
+ * tick count (a variable-length integer) and a key mask byte. Keys change
+ * rarely, so a minute of play takes a few hundred bytes.
+ */
+public class InputRecorder {
+
+    private final Path path;
+    private DataOutputStream out;
+    private int keys = -1;
+    private int run;
+    private long ticks;
+
+    public InputRecorder(Path path, int width, int height, long seed) throws IOException {
+        this.path = path;
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+        out.writeInt(ReplayInput.MAGIC);
+        out.writeByte(ReplayInput.VERSION);
+        out.writeShort(GameLoop.TICK_RATE);
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeLong(seed);
+    }
+
+    // Called once per tick, just before the world updates with the same input
+    public void record(Input input) {
+        if (out == null) {
+            return;
+        }
+        int held = (input.isKey_left() ? ReplayInput.LEFT : 0)
+                | (input.isKey_right() ? ReplayInput.RIGHT : 0)
+                | (input.isKey_space() ? ReplayInput.SPACE : 0)
+                | (input.isKey_j() ? ReplayInput.J : 0)
+                | (input.isKey_k() ? ReplayInput.K : 0);
+        if (held != keys) {
+            writeRun();
+            keys = held;
+        }
+        run++;
+        ticks++;
+    }
+
+    public void close() {
+        if (out == null) {
+            return;
+        }
+        writeRun();
+        try {
+            out.close();
+        } catch (IOException e) {
+            System.err.println("Error closing recording " + path + ": " + e.getMessage());
+        }
+        out = null;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    private void writeRun() {
+        if (run == 0) {
+            return;
+        }
+        try {
+            int value = run;
+            while ((value & ~0x7f) != 0) {
+                out.writeByte((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+            out.writeByte(keys);
+        } catch (IOException e) {
+            // Stop recording rather than interrupt the game
+            System.err.println("Error writing recording " + path + ": " + e.getMessage());
+            try {
+                out.close();
+            } catch (IOException ignored) {
+            }
+            out = null;
+        }
+        run = 0;
+    }
+}
@@ -0,0 +1,87 @@
+package game.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded single-producer/single-consumer queue of key events, stored as
+ * primitive columns so neither side allocates. The event thread offers
+ * events with their timestamps; the game loop reads them at the start of a
+ * tick with {@link #peek()} and {@link #consume()}, which lets it leave an
+ * event queued for the next tick.
+ */
+public class InputRing {
+
+    private final int mask;
+    private final int[] codes;
+    private final boolean[] pressed;
+    private final long[] nanos;
+    // Next slot to read and next slot to write; each is written by one side only
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    // The event at the head, filled in by peek()
+    private int code;
+    private boolean isPressed;
+    private long eventNanos;
+
+    // capacity must be a power of two
+    public InputRing(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        mask = capacity - 1;
+        codes = new int[capacity];
+        pressed = new boolean[capacity];
+        nanos = new long[capacity];
+    }
+
+    // Producer side; returns false and counts a drop if the ring is full
+    public boolean offer(int keyCode, boolean keyPressed, long timeNanos) {
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        int i = (int) t & mask;
+        codes[i] = keyCode;
+        pressed[i] = keyPressed;
+        nanos[i] = timeNanos;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    // Consumer side: loads the oldest event without removing it
+    public boolean peek() {
+        long h = head.get();
+        if (h == tail.get()) {
+            return false;
+        }
+        int i = (int) h & mask;
+        code = codes[i];
+        isPressed = pressed[i];
+        eventNanos = nanos[i];
+        return true;
+    }
+
+    public void consume() {
+        head.lazySet(head.get() + 1);
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public boolean isPressed() {
+        return isPressed;
+    }
+
+    // System.nanoTime() at which the key event happened
+    public long getNanos() {
+        return eventNanos;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+}
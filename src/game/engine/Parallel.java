@@ -0,0 +1,86 @@
+package game.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs index ranges on a shared {@link ForkJoinPool}. A range of
+ * {@code count} items is cut into chunks of {@code grain} items; the chunk
+ * boundaries depend only on the count and grain, never on the number of
+ * threads, so per-chunk results merged in chunk order come out the same
+ * however the chunks were scheduled. A range of a single chunk, or any range
+ * when only one thread is configured, runs on the calling thread.
+ * {@code -Drocket.threads=N} sets the pool size (default: one per core).
+ */
+public final class Parallel {
+
+    public interface RangeTask {
+
+        // Processes items [from, to), which make up chunk number chunk
+        void run(int chunk, int from, int to);
+    }
+
+    private static final Parallel SHARED = new Parallel(
+            Integer.getInteger("rocket.threads", Runtime.getRuntime().availableProcessors()));
+
+    private final ForkJoinPool pool;
+    private final int threads;
+
+    public Parallel(int threads) {
+        this.threads = Math.max(1, threads);
+        this.pool = this.threads > 1 ? new ForkJoinPool(this.threads) : null;
+    }
+
+    public static Parallel shared() {
+        return SHARED;
+    }
+
+    public static int chunks(int count, int grain) {
+        return (count + grain - 1) / grain;
+    }
+
+    public void forEach(int count, int grain, RangeTask task) {
+        int chunks = chunks(count, grain);
+        if (chunks == 0) {
+            return;
+        }
+        if (chunks == 1 || pool == null) {
+            for (int c = 0; c < chunks; c++) {
+                task.run(c, c * grain, Math.min(count, (c + 1) * grain));
+            }
+            return;
+        }
+        pool.invoke(new Chunks(task, count, grain, 0, chunks));
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    private static class Chunks extends RecursiveAction {
+
+        private final RangeTask task;
+        private final int count;
+        private final int grain;
+        private final int first;
+        private final int end;
+
+        Chunks(RangeTask task, int count, int grain, int first, int end) {
+            this.task = task;
+            this.count = count;
+            this.grain = grain;
+            this.first = first;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - first == 1) {
+                task.run(first, first * grain, Math.min(count, (first + 1) * grain));
+                return;
+            }
+            int middle = (first + end) >>> 1;
+            invokeAll(new Chunks(task, count, grain, first, middle), new Chunks(task, count, grain, middle, end));
+        }
+    }
+}
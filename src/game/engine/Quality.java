@@ -0,0 +1,54 @@
+package game.engine;
+
+/**
+ * Rendering quality levels, from full detail down to the cheapest frame the
+ * game still reads well at. Levels only change how effects look, never what
+ * happens in the game, so they can change mid-game without affecting a
+ * recording.
+ */
+public enum Quality {
+
+    HIGH(1f, true, true, true),
+    MEDIUM(0.6f, true, false, true),
+    LOW(0.4f, false, false, false),
+    MINIMAL(0.2f, false, false, false);
+
+    // Share of the particles each effect emits
+    private final float sparkScale;
+    private final boolean antialiasing;
+    private final boolean bilinear;
+    // Smoke and debris, which only add atmosphere to an explosion
+    private final boolean cosmeticEffects;
+
+    Quality(float sparkScale, boolean antialiasing, boolean bilinear, boolean cosmeticEffects) {
+        this.sparkScale = sparkScale;
+        this.antialiasing = antialiasing;
+        this.bilinear = bilinear;
+        this.cosmeticEffects = cosmeticEffects;
+    }
+
+    // An effect of count particles at this level; never scaled to nothing
+    public int scale(int count) {
+        return Math.max(1, Math.round(count * sparkScale));
+    }
+
+    public boolean isAntialiasing() {
+        return antialiasing;
+    }
+
+    public boolean isBilinear() {
+        return bilinear;
+    }
+
+    public boolean hasCosmeticEffects() {
+        return cosmeticEffects;
+    }
+
+    public Quality lower() {
+        return this == MINIMAL ? this : values()[ordinal() + 1];
+    }
+
+    public Quality higher() {
+        return this == HIGH ? this : values()[ordinal() - 1];
+    }
+}
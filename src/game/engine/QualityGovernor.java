@@ -0,0 +1,103 @@
+package game.engine;
+
+/**
+ * Picks the {@link Quality} that keeps frames inside their time budget. The
+ * work of a frame is its ticks plus drawing and presenting it. When the
+ * average over a short window passes {@link #DOWN_LOAD} of the budget the
+ * level drops one step; it only steps back up after a longer run of frames
+ * below {@link #UP_LOAD}. A step up that is undone straight away doubles
+ * the run needed next time, so a load sitting between two levels does not
+ * make the quality flicker.
+ */
+public class QualityGovernor {
+
+    // Shares of the frame budget that trigger a step down and allow a step up
+    private static final double DOWN_LOAD = 0.9;
+    private static final double UP_LOAD = 0.6;
+    // Frames averaged before stepping down, and the quiet frames needed before stepping up
+    private static final int DOWN_FRAMES = 15;
+    private static final int UP_FRAMES = 120;
+    private static final int MAX_UP_FRAMES = UP_FRAMES * 16;
+
+    private long budgetNanos;
+    private Quality quality = Quality.HIGH;
+    private boolean fixed;
+    private long tickNanos;
+    private long windowNanos;
+    private int windowFrames;
+    private int quietFrames;
+    private int upFrames = UP_FRAMES;
+    private int framesSinceUp = Integer.MAX_VALUE;
+    private int changes;
+
+    public QualityGovernor(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    public void setBudget(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    // Holds the given level from now on
+    public void fix(Quality quality) {
+        this.quality = quality;
+        fixed = true;
+    }
+
+    public void recordTick(long nanos) {
+        tickNanos += nanos;
+    }
+
+    // Called instead of endFrame for a frame that had nothing to present; it neither raises nor lowers the level
+    public void skipFrame() {
+        tickNanos = 0;
+    }
+
+    // Called once per frame with the time spent drawing and presenting it
+    public void endFrame(long renderNanos) {
+        long work = tickNanos + renderNanos;
+        tickNanos = 0;
+        if (fixed) {
+            return;
+        }
+        if (framesSinceUp < Integer.MAX_VALUE) {
+            framesSinceUp++;
+        }
+        quietFrames = work < budgetNanos * UP_LOAD ? quietFrames + 1 : 0;
+        windowNanos += work;
+        windowFrames++;
+        if (windowFrames == DOWN_FRAMES) {
+            boolean over = windowNanos > budgetNanos * DOWN_LOAD * DOWN_FRAMES;
+            windowNanos = 0;
+            windowFrames = 0;
+            if (over && quality != Quality.MINIMAL) {
+                if (framesSinceUp <= DOWN_FRAMES * 2) {
+                    upFrames = Math.min(upFrames * 2, MAX_UP_FRAMES);
+                }
+                change(quality.lower());
+                return;
+            }
+        }
+        if (quietFrames >= upFrames && quality != Quality.HIGH) {
+            change(quality.higher());
+            framesSinceUp = 0;
+        }
+    }
+
+    public Quality getQuality() {
+        return quality;
+    }
+
+    // Level changes so far
+    public int getChanges() {
+        return changes;
+    }
+
+    private void change(Quality next) {
+        quality = next;
+        changes++;
+        quietFrames = 0;
+        windowNanos = 0;
+        windowFrames = 0;
+    }
+}
@@ -0,0 +1,182 @@
+package game.engine;
+
+import game.obj.sound.Sound;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Input read back from a file written by {@link InputRecorder}. The file
+ * holds the world size and seed of one game followed by the keys held on
+ * every tick, so a world created with {@link #createWorld} and fed one
+ * {@link #advance()} per update plays the recorded game again exactly.
+ */
+public class ReplayInput implements Input {
+
+    static final int MAGIC = 0x524b5250; // "RKRP"
+    // 2: effects no longer draw from the game's random sequence, so version 1 games play out differently
+    static final int VERSION = 2;
+
+    static final int LEFT = 1;
+    static final int RIGHT = 2;
+    static final int SPACE = 4;
+    static final int J = 8;
+    static final int K = 16;
+
+    private final int width;
+    private final int height;
+    private final long seed;
+    // Runs of ticks with the same keys held
+    private final int[] runLengths;
+    private final int[] runKeys;
+    private final int runCount;
+    private final long length;
+    private int run;
+    private int left;
+    private long tick;
+    private int held;
+
+    private ReplayInput(int width, int height, long seed, int[] runLengths, int[] runKeys, int runCount) {
+        this.width = width;
+        this.height = height;
+        this.seed = seed;
+        this.runLengths = runLengths;
+        this.runKeys = runKeys;
+        this.runCount = runCount;
+        long total = 0;
+        for (int i = 0; i < runCount; i++) {
+            total += runLengths[i];
+        }
+        this.length = total;
+        this.run = -1;
+    }
+
+    public static ReplayInput load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a replay file: " + path);
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported replay version " + version + ": " + path);
+            }
+            int tickRate = in.readUnsignedShort();
+            if (tickRate != GameLoop.TICK_RATE) {
+                throw new IOException("Replay was recorded at " + tickRate + " ticks per second, not " + GameLoop.TICK_RATE);
+            }
+            int width = in.readInt();
+            int height = in.readInt();
+            long seed = in.readLong();
+            int[] lengths = new int[256];
+            int[] keys = new int[256];
+            int count = 0;
+            while (true) {
+                int length;
+                try {
+                    length = readVarInt(in);
+                } catch (EOFException e) {
+                    break;
+                }
+                if (count == lengths.length) {
+                    lengths = Arrays.copyOf(lengths, count * 2);
+                    keys = Arrays.copyOf(keys, count * 2);
+                }
+                lengths[count] = length;
+                keys[count] = in.readUnsignedByte();
+                count++;
+            }
+            return new ReplayInput(width, height, seed, lengths, keys, count);
+        }
+    }
+
+    // A fresh world in the state the recorded game started from
+    public World createWorld(Sound sound) {
+        World world = new World(width, height, this, sound, new Random());
+        world.reset(seed);
+        return world;
+    }
+
+    // Called once per tick before the world updates; returns false once the recording has run out
+    public boolean advance() {
+        while (left == 0) {
+            if (run + 1 >= runCount) {
+                held = 0;
+                return false;
+            }
+            run++;
+            left = runLengths[run];
+            held = runKeys[run];
+        }
+        left--;
+        tick++;
+        return true;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // Total number of recorded ticks
+    public long getLength() {
+        return length;
+    }
+
+    // Ticks replayed so far
+    public long getTick() {
+        return tick;
+    }
+
+    static int readVarInt(InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed replay file");
+    }
+
+    @Override
+    public boolean isKey_left() {
+        return (held & LEFT) != 0;
+    }
+
+    @Override
+    public boolean isKey_right() {
+        return (held & RIGHT) != 0;
+    }
+
+    @Override
+    public boolean isKey_space() {
+        return (held & SPACE) != 0;
+    }
+
+    @Override
+    public boolean isKey_j() {
+        return (held & J) != 0;
+    }
+
+    @Override
+    public boolean isKey_k() {
+        return (held & K) != 0;
+    }
+}
@@ -0,0 +1,133 @@
+package game.engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Input that follows a script instead of the keyboard. Each script line is
+ * {@code <tick> <keys...>}, where keys are any of A, D, SPACE, J and K; the
+ * listed keys are held from that tick until the next line. Blank lines and
+ * lines starting with '#' are ignored. The script repeats, restarting from
+ * the top when the tick of its last line is reached.
+ */
+public class ScriptedInput implements Input {
+
+    private static final int LEFT = 1;
+    private static final int RIGHT = 2;
+    private static final int SPACE = 4;
+    private static final int J = 8;
+    private static final int K = 16;
+
+    private final long[] ticks;
+    private final int[] keys;
+    private final long length;
+    private int index;
+    private long base;
+    private int held;
+
+    public ScriptedInput(long[] ticks, int[] keys) {
+        this.ticks = ticks;
+        this.keys = keys;
+        this.length = Math.max(1, ticks[ticks.length - 1]);
+    }
+
+    public static ScriptedInput load(Path path) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return parse(lines);
+    }
+
+    public static ScriptedInput parse(List<String> lines) {
+        long[] ticks = new long[lines.size()];
+        int[] keys = new int[lines.size()];
+        int count = 0;
+        for (String line : lines) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            ticks[count] = Long.parseLong(parts[0]);
+            for (int i = 1; i < parts.length; i++) {
+                keys[count] |= mask(parts[i]);
+            }
+            count++;
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException("Input script is empty");
+        }
+        return new ScriptedInput(Arrays.copyOf(ticks, count), Arrays.copyOf(keys, count));
+    }
+
+    // Default soak script: sweep left and right while firing and boosting in bursts
+    public static ScriptedInput demo() {
+        return parse(Arrays.asList(
+                "0 J",
+                "100 A J",
+                "300 J SPACE",
+                "400 D J",
+                "800 J K",
+                "850 A SPACE",
+                "1000 D J",
+                "1200"));
+    }
+
+    private static int mask(String key) {
+        switch (key.toUpperCase()) {
+            case "A": return LEFT;
+            case "D": return RIGHT;
+            case "SPACE": return SPACE;
+            case "J": return J;
+            case "K": return K;
+            default: throw new IllegalArgumentException("Unknown key in input script: " + key);
+        }
+    }
+
+    // Called once per tick before the world updates
+    public void advance(long tick) {
+        while (tick - base >= length) {
+            base += length;
+            index = 0;
+        }
+        long t = tick - base;
+        while (index + 1 < ticks.length && ticks[index + 1] <= t) {
+            index++;
+        }
+        held = t >= ticks[index] ? keys[index] : 0;
+    }
+
+    @Override
+    public boolean isKey_left() {
+        return (held & LEFT) != 0;
+    }
+
+    @Override
+    public boolean isKey_right() {
+        return (held & RIGHT) != 0;
+    }
+
+    @Override
+    public boolean isKey_space() {
+        return (held & SPACE) != 0;
+    }
+
+    @Override
+    public boolean isKey_j() {
+        return (held & J) != 0;
+    }
+
+    @Override
+    public boolean isKey_k() {
+        return (held & K) != 0;
+    }
+}
@@ -0,0 +1,108 @@
+package game.engine;
+
+import game.obj.Rocket;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Holds a world at a fixed population for measuring how the engine scales.
+ * Each step sets a target count, and every tick the rockets, player bullets,
+ * rocket bullets and particles are topped back up to it. A step lasts a
+ * number of warm-up frames, which are not measured, followed by the
+ * measured frames. The world runs in stress mode, so no waves spawn, rockets
+ * do not fire, hits leave no sparks and the player cannot die.
+ */
+public class StressScenario {
+
+    // Particles are emitted in bursts of this size at random points
+    private static final int PARTICLE_BURST = 20;
+
+    private final int[] steps;
+    private final int warmupFrames;
+    private final int measuredFrames;
+    private final Random rand = new Random(1);
+    private int step;
+    private int frame;
+
+    public StressScenario(int[] steps, int warmupFrames, int measuredFrames) {
+        if (steps.length == 0) {
+            throw new IllegalArgumentException("Stress run needs at least one step");
+        }
+        this.steps = steps;
+        this.warmupFrames = warmupFrames;
+        this.measuredFrames = measuredFrames;
+    }
+
+    // Comma-separated counts, e.g. "10,100,1000,10000"
+    public static int[] parseSteps(String text) {
+        return Arrays.stream(text.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+
+    public void start(World world) {
+        world.setStressMode(true);
+        world.reset(1);
+        step = 0;
+        frame = 0;
+    }
+
+    // Called once per tick, before the world updates
+    public void populate(World world) {
+        if (isDone()) {
+            return;
+        }
+        int target = getTarget();
+        int width = world.getWidth();
+        int height = world.getHeight();
+        while (world.getRockets().size() < target) {
+            world.spawnRocket(rand.nextDouble() * (width - Rocket.ROCKET_SIZE), rand.nextDouble() * height / 2,
+                    60 + rand.nextFloat() * 60);
+        }
+        while (world.getBullets().size() < target) {
+            world.spawnBullet(rand.nextDouble() * width, height / 2 + rand.nextDouble() * height / 2,
+                    rand.nextFloat() * 360, false);
+        }
+        while (world.getRocketBullets().size() < target) {
+            world.spawnRocketBullet(rand.nextDouble() * width, rand.nextDouble() * height / 2);
+        }
+        while (world.getBoomEffects().size() < target) {
+            world.spawnParticles(rand.nextDouble() * width, rand.nextDouble() * height,
+                    Math.min(PARTICLE_BURST, target - world.getBoomEffects().size()));
+        }
+    }
+
+    // Called after each presented frame; returns true when that frame ended a step
+    public boolean endFrame(World world) {
+        if (isDone()) {
+            return false;
+        }
+        frame++;
+        if (frame < warmupFrames + measuredFrames) {
+            return false;
+        }
+        step++;
+        frame = 0;
+        world.reset(1);
+        return true;
+    }
+
+    // Whether the current frame counts towards the step's results
+    public boolean isMeasuring() {
+        return !isDone() && frame >= warmupFrames;
+    }
+
+    public boolean isDone() {
+        return step >= steps.length;
+    }
+
+    public int getTarget() {
+        return steps[Math.min(step, steps.length - 1)];
+    }
+
+    public int getStep() {
+        return step;
+    }
+
+    public int getStepCount() {
+        return steps.length;
+    }
+}
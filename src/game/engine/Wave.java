@@ -0,0 +1,177 @@
+package game.engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One wave of rockets, as read from a wave file. Each line of the file is a
+ * wave of {@code key=value} pairs in any order; blank lines and lines
+ * starting with '#' are ignored, and the waves repeat from the top after the
+ * last one. Keys:
+ * <ul>
+ * <li>count: rockets in the wave (default 1)</li>
+ * <li>formation: where they enter, one of {@code random}, {@code line},
+ * {@code column}, {@code v} or {@code sides} (default random)</li>
+ * <li>rate: how spawns are spread over the duration, one of {@code even},
+ * {@code ease-in} (slow start), {@code ease-out} (fast start) or
+ * {@code burst} (all at once) (default even)</li>
+ * <li>duration: seconds over which the wave spawns (default 3)</li>
+ * <li>pause: seconds to wait after the last spawn before the next wave (default 0)</li>
+ * <li>speed: pixels per second (default 60)</li>
+ * <li>angle: heading in degrees, 90 is straight down (default 90)</li>
+ * <li>spread: random variation of the heading, in degrees either way (default 0)</li>
+ * </ul>
+ */
+public final class Wave {
+
+    public enum Formation { RANDOM, LINE, COLUMN, V, SIDES }
+
+    public enum Rate { EVEN, EASE_IN, EASE_OUT, BURST }
+
+    private static final String RESOURCE = "waves.txt";
+    private static List<Wave> defaults;
+
+    final int count;
+    final Formation formation;
+    final Rate rate;
+    final int durationTicks;
+    final int pauseTicks;
+    final float speed;
+    final float angle;
+    final float spread;
+
+    public Wave(int count, Formation formation, Rate rate, double durationSeconds, double pauseSeconds,
+            float speed, float angle, float spread) {
+        if (count < 1) {
+            throw new IllegalArgumentException("A wave needs at least one rocket");
+        }
+        this.count = count;
+        this.formation = formation;
+        this.rate = rate;
+        this.durationTicks = (int) Math.round(durationSeconds * GameLoop.TICK_RATE);
+        this.pauseTicks = (int) Math.round(pauseSeconds * GameLoop.TICK_RATE);
+        this.speed = speed;
+        this.angle = angle;
+        this.spread = spread;
+    }
+
+    // The waves from -Drocket.waves=file, or the bundled ones
+    public static synchronized List<Wave> defaults() {
+        if (defaults == null) {
+            String file = System.getProperty("rocket.waves");
+            try {
+                if (file != null) {
+                    defaults = load(Paths.get(file));
+                } else {
+                    try (InputStream in = Wave.class.getResourceAsStream(RESOURCE)) {
+                        if (in == null) {
+                            throw new IOException("Missing resource " + RESOURCE);
+                        }
+                        defaults = parse(readLines(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))));
+                    }
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Error loading waves, using a single rocket every 3 seconds: " + e.getMessage());
+                defaults = Collections.singletonList(
+                        new Wave(1, Formation.RANDOM, Rate.EVEN, 3, 0, 60, 90, 0));
+            }
+        }
+        return defaults;
+    }
+
+    public static List<Wave> load(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            return parse(readLines(reader));
+        }
+    }
+
+    public static List<Wave> parse(List<String> lines) {
+        List<Wave> waves = new ArrayList<>();
+        int number = 0;
+        for (String line : lines) {
+            number++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                waves.add(parseWave(line));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Wave file line " + number + ": " + e.getMessage(), e);
+            }
+        }
+        if (waves.isEmpty()) {
+            throw new IllegalArgumentException("Wave file has no waves");
+        }
+        return Collections.unmodifiableList(waves);
+    }
+
+    private static Wave parseWave(String line) {
+        int count = 1;
+        Formation formation = Formation.RANDOM;
+        Rate rate = Rate.EVEN;
+        double duration = 3;
+        double pause = 0;
+        float speed = 60;
+        float angle = 90;
+        float spread = 0;
+        for (String pair : line.split("\\s+")) {
+            int equals = pair.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Expected key=value: " + pair);
+            }
+            String key = pair.substring(0, equals);
+            String value = pair.substring(equals + 1);
+            switch (key) {
+                case "count": count = Integer.parseInt(value); break;
+                case "formation": formation = Formation.valueOf(constant(value)); break;
+                case "rate": rate = Rate.valueOf(constant(value)); break;
+                case "duration": duration = Double.parseDouble(value); break;
+                case "pause": pause = Double.parseDouble(value); break;
+                case "speed": speed = Float.parseFloat(value); break;
+                case "angle": angle = Float.parseFloat(value); break;
+                case "spread": spread = Float.parseFloat(value); break;
+                default: throw new IllegalArgumentException("Unknown key: " + key);
+            }
+        }
+        return new Wave(count, formation, rate, duration, pause, speed, angle, spread);
+    }
+
+    private static String constant(String value) {
+        return value.toUpperCase().replace('-', '_');
+    }
+
+    private static List<String> readLines(BufferedReader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    // Tick, relative to the start of the wave, at which rocket i of the wave spawns
+    int spawnTick(int i) {
+        double t = (double) i / count;
+        switch (rate) {
+            case EASE_IN: t = Math.sqrt(t); break;
+            case EASE_OUT: t = t * t; break;
+            case BURST: return 0;
+            default: break;
+        }
+        return (int) (t * durationTicks);
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,111 @@
+package game.engine;
+
+import game.obj.Rocket;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Spawns rockets wave by wave, advanced once per tick by the {@link World}.
+ * Positions and headings come from the wave's formation and the world's
+ * random generator, so a seeded world spawns the same rockets every run.
+ */
+public class WaveDirector {
+
+    // Rockets keep this far from the left and right edges when entering from the top
+    private static final int MARGIN = 25;
+
+    private final Random rand;
+    private List<Wave> waves;
+    private int waveIndex;
+    private int waveNumber;
+    private int tick;
+    private int spawned;
+    // Per-wave choices shared by all of its rockets
+    private double columnX;
+
+    public WaveDirector(List<Wave> waves, Random rand) {
+        this.waves = waves;
+        this.rand = rand;
+        reset();
+    }
+
+    public void setWaves(List<Wave> waves) {
+        this.waves = waves;
+        reset();
+    }
+
+    public void reset() {
+        waveIndex = 0;
+        waveNumber = 0;
+        startWave();
+    }
+
+    public void update(World world) {
+        Wave wave = waves.get(waveIndex);
+        while (spawned < wave.count && wave.spawnTick(spawned) <= tick) {
+            spawn(world, wave, spawned++);
+        }
+        tick++;
+        if (spawned == wave.count && tick > wave.durationTicks + wave.pauseTicks) {
+            waveIndex = (waveIndex + 1) % waves.size();
+            startWave();
+        }
+    }
+
+    // Counts from 1 and keeps counting when the waves repeat
+    public int getWaveNumber() {
+        return waveNumber;
+    }
+
+    private void startWave() {
+        waveNumber++;
+        tick = 0;
+        spawned = 0;
+        columnX = -1;
+    }
+
+    private void spawn(World world, Wave wave, int i) {
+        int width = world.getWidth();
+        double left = MARGIN;
+        double right = width - MARGIN - Rocket.ROCKET_SIZE;
+        double x;
+        double y = 0;
+        float angle = wave.angle;
+        switch (wave.formation) {
+            case LINE:
+                // Evenly across the top, left to right
+                x = left + (right - left) * (i + 0.5) / wave.count;
+                break;
+            case COLUMN:
+                if (columnX < 0) {
+                    columnX = left + rand.nextDouble() * (right - left);
+                }
+                x = columnX;
+                break;
+            case V:
+                // Centre first, then alternately left and right, one rocket width further out each pair
+                int side = (i & 1) == 0 ? 1 : -1;
+                x = (left + right) / 2 + side * ((i + 1) / 2) * Rocket.ROCKET_SIZE;
+                x = Math.max(left, Math.min(right, x));
+                break;
+            case SIDES:
+                // Alternately from the left and right edges, in the top half; the angle is mirrored on the right
+                y = rand.nextDouble() * world.getHeight() / 2;
+                if ((i & 1) == 0) {
+                    x = 0;
+                } else {
+                    x = width - Rocket.ROCKET_SIZE;
+                    angle = 180 - angle;
+                }
+                break;
+            default:
+                x = left + rand.nextDouble() * (right - left);
+                break;
+        }
+        if (wave.spread > 0) {
+            angle += (rand.nextFloat() * 2 - 1) * wave.spread;
+        }
+        angle = (angle % 360 + 360) % 360;
+        world.spawnRocket(x, y, angle, wave.speed);
+    }
+}
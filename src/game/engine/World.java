@@ -0,0 +1,651 @@
+package game.engine;
+
+import game.collision.CollisionStats;
+import game.collision.Hull;
+import game.collision.SpatialGrid;
+import game.obj.Bullet;
+import game.obj.ParticleSystem;
+import game.obj.Player;
+import game.obj.Pool;
+import game.obj.Rocket;
+import game.obj.sound.Sound;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The game rules: player movement and firing, rocket spawning and firing,
+ * bullets, collisions, damage and scoring. A world advances one fixed tick per
+ * {@link #update()} and needs neither Swing nor any images, so the same rules
+ * drive the windowed game and the headless runner.
+ */
+public class World {
+
+    private static final float ROTATE_SPEED = 0.5f;
+    // Print broad-phase counters once per second of game time
+    private static final boolean COLLISION_STATS = Boolean.getBoolean("rocket.collisionStats");
+    private static final boolean POOL_STATS = Boolean.getBoolean("rocket.poolStats");
+
+    // Shared colours so spawning bullets and effects does not allocate
+    private static final Color SMALL_BULLET_COLOR = new Color(169, 169, 169);
+    private static final Color LARGE_BULLET_COLOR = new Color(184, 115, 51);
+    private static final Color FLASH_COLOR = new Color(230, 207, 105);
+    private static final Color BLAST_COLOR = new Color(255, 255, 255);
+    private static final Color FIRE_COLOR = new Color(255, 150, 0);
+    private static final Color SHOCK_COLOR = new Color(32, 178, 169, 150);
+    private static final Color SPARK_COLOR = new Color(255, 70, 70);
+    private static final Color DEBRIS_COLOR = new Color(100, 100, 100);
+    private static final Color SMOKE_COLOR = new Color(50, 50, 50, 100);
+    private static final Color CORE_COLOR = new Color(32, 178, 169);
+
+    // Collision layers and grid cell size (about one rocket)
+    private static final int LAYER_ROCKET = 0;
+    private static final int LAYER_BULLET = 1;
+    private static final int LAYER_ROCKET_BULLET = 2;
+    private static final int LAYER_PLAYER = 3;
+    private static final int GRID_CELL_SIZE = 64;
+    // Chunk sizes for the parallel phases; smaller populations stay on the game thread
+    private static final int INTEGRATE_GRAIN = 1024;
+    private static final int COLLIDE_GRAIN = 256;
+
+    private final int width;
+    private final int height;
+    private final Input input;
+    private final Sound sound;
+    private final Random rand;
+    // Effects draw from their own sequence, so how many particles they emit never changes the game
+    private final Random effectsRand = new Random();
+    private final SpatialGrid grid;
+    private final SpatialGrid.Query gridQuery = new SpatialGrid.Query();
+    private final CollisionStats collisionStats = new CollisionStats();
+    private final Pool<Bullet> bulletPool = new Pool<>(1024, Bullet::new);
+    private final Pool<Rocket> rocketPool = new Pool<>(1024, Rocket::new);
+    private final WaveDirector director;
+    private final EntityStore<Bullet> bullets;
+    private final EntityStore<Bullet> rocketBullets;
+    private final EntityStore<Rocket> rockets;
+    private final ParticleSystem boomEffects;
+    private final Parallel parallel = Parallel.shared();
+    private final List<CollisionBuffer> collisionBuffers = new ArrayList<>();
+    private long[] bulletCandidates = new long[256];
+    private final Parallel.RangeTask integrateRockets = this::integrateRockets;
+    private final Parallel.RangeTask integrateBullets = this::integrateBullets;
+    private final Parallel.RangeTask updateHulls = this::updateHulls;
+    private final Parallel.RangeTask findBulletHits = this::findBulletHits;
+    private Player player;
+    private boolean gameOver;
+    private int shotTime;
+    private long tickCount;
+    private int score;
+    // No waves, no rocket fire, no hit effects and no damage to the player; for stress runs
+    private boolean stressMode;
+    private Quality quality = Quality.HIGH;
+
+    // Ammo tracking for large bullets
+    private int largeBulletsUsed = 0;
+    private final int largeAmmoLimit = 10;
+    private long lastReloadTime = 0;
+    private final long reloadInterval = 10000;
+
+    public World(int width, int height, Input input, Sound sound, Random random) {
+        this.width = width;
+        this.height = height;
+        this.input = input;
+        this.sound = sound;
+        this.rand = random;
+        grid = new SpatialGrid(GRID_CELL_SIZE, width, height);
+        rockets = new EntityStore<>(64, this::freeRocket);
+        bullets = new EntityStore<>(256, this::freeBullet);
+        rocketBullets = new EntityStore<>(256, this::freeBullet);
+        boomEffects = new ParticleSystem(4096, effectsRand);
+        bulletPool.fill(256);
+        rocketPool.fill(64);
+        director = new WaveDirector(Wave.defaults(), random);
+        createPlayer();
+    }
+
+    // Starts a new game whose random events depend only on the seed and the input from here on
+    public void reset(long seed) {
+        rand.setSeed(seed);
+        effectsRand.setSeed(seed);
+        reset();
+    }
+
+    public void reset() {
+        score = 0;
+        shotTime = 0;
+        director.reset();
+        gameOver = false;
+        largeBulletsUsed = 0;
+        lastReloadTime = getGameTime();
+        rockets.clear();
+        bullets.clear();
+        rocketBullets.clear();
+        boomEffects.clear();
+        createPlayer();
+    }
+
+    private void createPlayer() {
+        player = new Player();
+        player.changeLocation(width / 2, height - 75);
+        player.changeAngle(270);
+        player.resetInterpolation();
+    }
+
+    // One fixed tick; once the player is dead only the rockets keep flying
+    public void update() {
+        tickCount++;
+        collisionStats.reset();
+        if (!gameOver && !stressMode) {
+            director.update(this);
+        }
+        if (!gameOver && player.isAlive()) {
+            updatePlayer();
+        }
+        updateRockets();
+        if (!gameOver) {
+            updateBullets();
+        }
+        rockets.flush();
+        bullets.flush();
+        rocketBullets.flush();
+    }
+
+    private void updatePlayer() {
+        float angle = player.getAngle();
+        if (input.isKey_left()) angle -= ROTATE_SPEED;
+        if (input.isKey_right()) angle += ROTATE_SPEED;
+        if (input.isKey_j() || input.isKey_k()) {
+            if (shotTime == 0) {
+                if (input.isKey_j()) {
+                    spawnBullet(player.getX(), player.getY(), angle, false);
+                    sound.soundShoot();
+                } else if (input.isKey_k() && largeBulletsUsed < largeAmmoLimit) {
+                    spawnBullet(player.getX(), player.getY(), angle, true);
+                    largeBulletsUsed++;
+                    sound.soundBigBullet();
+                }
+            }
+            shotTime++;
+            if (shotTime == 15) shotTime = 0;
+        } else {
+            shotTime = 0;
+        }
+        if (input.isKey_space()) player.speedUp();
+        else player.speedDown();
+        player.update();
+
+        double newX = player.getX();
+        double newY = player.getY();
+        if (newX < 0) newX = 0;
+        else if (newX + Player.PLAYER_SIZE > width) newX = width - Player.PLAYER_SIZE;
+        if (newY < 0) newY = 0;
+        else if (newY + Player.PLAYER_SIZE > height) newY = height - Player.PLAYER_SIZE;
+        player.changeLocation(newX, newY);
+
+        player.changeAngle(angle);
+
+        long currentTime = getGameTime();
+        if (largeBulletsUsed >= largeAmmoLimit && currentTime - lastReloadTime >= reloadInterval) {
+            largeBulletsUsed = 0;
+            lastReloadTime = currentTime;
+        }
+    }
+
+    private void integrateRockets(int chunk, int from, int to) {
+        for (int i = from; i < to; i++) {
+            rockets.get(i).update();
+        }
+    }
+
+    // Player bullets first, then rocket bullets, as one index range
+    private void integrateBullets(int chunk, int from, int to) {
+        int split = bullets.size();
+        for (int i = from; i < to; i++) {
+            if (i < split) {
+                bullets.get(i).update();
+            } else {
+                rocketBullets.get(i - split).update();
+            }
+        }
+    }
+
+    private void updateRockets() {
+        parallel.forEach(rockets.size(), INTEGRATE_GRAIN, integrateRockets);
+        for (int i = 0; i < rockets.size(); i++) {
+            Rocket rocket = rockets.get(i);
+            if (!gameOver && !stressMode && rand.nextFloat() < 0.01f) {
+                double bulletX = rocket.getX() + Rocket.ROCKET_SIZE / 2;
+                double bulletY = rocket.getY();
+                bulletX += -40;
+                bulletY += 20;
+                spawnRocketBullet(bulletX, bulletY);
+                sound.soundShoot();
+            }
+            if (!rocket.check(width, height)) {
+                rockets.destroyAt(i);
+            }
+        }
+    }
+
+    // Direct spawning for benchmarks and test scenarios; normal play uses the wave director
+    public void spawnRocket(double x, double y, float angle) {
+        spawnRocket(x, y, angle, Rocket.DEFAULT_SPEED);
+    }
+
+    public void spawnRocket(double x, double y, float angle, float speed) {
+        Rocket rocket = rocketPool.obtain();
+        rocket.init(x, y, angle, speed);
+        rockets.add(rocket);
+    }
+
+    public void spawnBullet(double x, double y, float angle, boolean large) {
+        if (large) {
+            bullets.add(newBullet(x, y, angle, 25, 3f, LARGE_BULLET_COLOR));
+        } else {
+            bullets.add(newBullet(x, y, angle, 8, 3f, SMALL_BULLET_COLOR));
+        }
+    }
+
+    public void spawnRocketBullet(double x, double y) {
+        rocketBullets.add(newBullet(x, y, 90, 8, 2f, Color.RED));
+    }
+
+    public void spawnExplosion(double x, double y) {
+        addExplosionEffects(x, y);
+    }
+
+    public void spawnParticles(double x, double y, int count) {
+        boomEffects.emit(x, y, count, 5, 60, 0.2f, SPARK_COLOR);
+    }
+
+    private void updateBullets() {
+        parallel.forEach(bullets.size() + rocketBullets.size(), INTEGRATE_GRAIN, integrateBullets);
+        long collisionStart = System.nanoTime();
+        buildGrid();
+        collideBullets();
+        if (player.isAlive()) {
+            checkPlayer();
+        }
+        collisionStats.addNanos(System.nanoTime() - collisionStart);
+        for (int i = 0; i < rocketBullets.size(); i++) {
+            if (!rocketBullets.get(i).check(width, height)) {
+                rocketBullets.destroyAt(i);
+            }
+        }
+        boomEffects.update(parallel);
+        if (COLLISION_STATS && tickCount % GameLoop.TICK_RATE == 0) {
+            System.out.println("Collision: " + collisionStats);
+        }
+        if (POOL_STATS && tickCount % GameLoop.TICK_RATE == 0) {
+            System.out.println("Pools: bullets[" + bulletPool + "] rockets[" + rocketPool + "] particles=" + boomEffects.size());
+        }
+    }
+
+    private void buildGrid() {
+        parallel.forEach(rockets.size() + rocketBullets.size() + bullets.size(), INTEGRATE_GRAIN, updateHulls);
+        grid.clear();
+        gridQuery.resetCandidates();
+        for (int i = 0; i < rockets.size(); i++) {
+            if (!rockets.isDestroyedAt(i)) {
+                insert(rockets.handleAt(i), LAYER_ROCKET, rockets.get(i).getHull());
+            }
+        }
+        for (int i = 0; i < rocketBullets.size(); i++) {
+            insert(rocketBullets.handleAt(i), LAYER_ROCKET_BULLET, rocketBullets.get(i).getHull());
+        }
+        for (int i = 0; i < bullets.size(); i++) {
+            insert(bullets.handleAt(i), LAYER_BULLET, bullets.get(i).getHull());
+        }
+        if (player.isAlive()) {
+            insert(0, LAYER_PLAYER, player.getHull());
+        }
+    }
+
+    // Hulls are brought up to date before the grid is built, so the collision chunks only read them
+    private void updateHulls(int chunk, int from, int to) {
+        int rocketCount = rockets.size();
+        int rocketBulletCount = rocketBullets.size();
+        for (int i = from; i < to; i++) {
+            if (i < rocketCount) {
+                if (!rockets.isDestroyedAt(i)) {
+                    rockets.get(i).getHull();
+                }
+            } else if (i < rocketCount + rocketBulletCount) {
+                rocketBullets.get(i - rocketCount).getHull();
+            } else {
+                bullets.get(i - rocketCount - rocketBulletCount).getHull();
+            }
+        }
+    }
+
+    private void insert(long handle, int layer, Hull hull) {
+        grid.insert(handle, layer, hull.getMinX(), hull.getMinY(), hull.getMaxX(), hull.getMaxY());
+    }
+
+    private int query(Hull hull, int layerMask) {
+        return query(hull, layerMask, gridQuery);
+    }
+
+    private int query(Hull hull, int layerMask, SpatialGrid.Query query) {
+        return grid.query(hull.getMinX(), hull.getMinY(), hull.getMaxX(), hull.getMaxY(), layerMask, query);
+    }
+
+    // Queries and narrow-phase tests run in parallel chunks of bullets, each writing to its own buffer.
+    // Damage, score and removal are then applied here in bullet order, exactly as a serial pass would,
+    // so the outcome does not depend on the number of threads.
+    private void collideBullets() {
+        int n = bullets.size();
+        if (bulletCandidates.length < n) {
+            bulletCandidates = new long[Math.max(n, bulletCandidates.length * 2)];
+        }
+        int chunks = Parallel.chunks(n, COLLIDE_GRAIN);
+        while (collisionBuffers.size() < chunks) {
+            collisionBuffers.add(new CollisionBuffer());
+        }
+        parallel.forEach(n, COLLIDE_GRAIN, findBulletHits);
+        int rocketCount = rockets.size();
+        for (int c = 0; c < chunks; c++) {
+            CollisionBuffer buffer = collisionBuffers.get(c);
+            int next = 0;
+            int end = Math.min(n, (c + 1) * COLLIDE_GRAIN);
+            for (int i = c * COLLIDE_GRAIN; i < end; i++) {
+                Bullet bullet = bullets.get(i);
+                collisionStats.addPairs(rocketCount);
+                collisionStats.addCandidates(bulletCandidates[i]);
+                boolean hit = false;
+                // Candidates are in grid insertion order; the first rocket still alive and touching takes the hit
+                for (; next < buffer.size && buffer.bullets[next] == i; next++) {
+                    if (hit) {
+                        continue;
+                    }
+                    long handle = buffer.rockets[next];
+                    Rocket rocket = rockets.resolve(handle);
+                    if (rocket == null) {
+                        continue;
+                    }
+                    collisionStats.addTest();
+                    if (buffer.intersects[next]) {
+                        hitRocket(bullet, rocket, handle);
+                        hit = true;
+                    }
+                }
+                if (hit || !bullet.check(width, height)) {
+                    bullets.destroyAt(i);
+                }
+            }
+        }
+    }
+
+    // Runs on a pool thread: reads the grid, hulls and stores, and writes only to its chunk's buffer
+    private void findBulletHits(int chunk, int from, int to) {
+        CollisionBuffer buffer = collisionBuffers.get(chunk);
+        buffer.size = 0;
+        SpatialGrid.Query query = buffer.query;
+        for (int i = from; i < to; i++) {
+            Hull hull = bullets.get(i).getHull();
+            query.resetCandidates();
+            int count = query(hull, 1 << LAYER_ROCKET, query);
+            bulletCandidates[i] = query.getCandidates();
+            for (int k = 0; k < count; k++) {
+                long handle = grid.getHandle(query.get(k));
+                Rocket rocket = rockets.resolve(handle);
+                if (rocket != null) {
+                    buffer.add(i, handle, hull.intersects(rocket.getHull()));
+                }
+            }
+        }
+    }
+
+    private void hitRocket(Bullet bullet, Rocket rocket, long handle) {
+        collisionStats.addHit();
+        addEffect(bullet.getCenterX(), bullet.getCenterY(), 3, 5, 60, 0.5f, FLASH_COLOR);
+        if (!rocket.updateHP(bullet.getSize())) {
+            score++;
+            if (score % 10 == 0 && player.isAlive()) {
+                player.resetHP();
+                sound.soundHit();
+            }
+            rockets.destroy(handle);
+            sound.soundDestroy();
+            addExplosionEffects(rocket.getX() + Rocket.ROCKET_SIZE / 2, rocket.getY() + Rocket.ROCKET_SIZE / 2);
+        } else {
+            sound.soundHit();
+        }
+    }
+
+    // Rockets and rocket bullets are only tested against the player when they share a grid cell
+    private void checkPlayer() {
+        collisionStats.addPairs(rockets.size() + rocketBullets.size());
+        int count = query(player.getHull(), (1 << LAYER_ROCKET) | (1 << LAYER_ROCKET_BULLET));
+        collisionStats.addCandidates(gridQuery.getCandidates());
+        gridQuery.resetCandidates();
+        for (int i = 0; i < count && player.isAlive(); i++) {
+            int id = gridQuery.get(i);
+            long handle = grid.getHandle(id);
+            if (grid.getLayer(id) == LAYER_ROCKET) {
+                checkPlayer(handle);
+            } else {
+                Bullet bullet = rocketBullets.resolve(handle);
+                if (bullet != null && checkRocketBullets(bullet)) {
+                    rocketBullets.destroy(handle);
+                }
+            }
+        }
+    }
+
+    private boolean checkRocketBullets(Bullet bullet) {
+        if (player.isAlive()) {
+            collisionStats.addTest();
+            if (bullet.getHull().intersects(player.getHull())) {
+                collisionStats.addHit();
+                if (!stressMode && !player.updateHP(10)) {
+                    player.setAlive(false);
+                    sound.soundDestroy();
+                    double x = player.getX() + Player.PLAYER_SIZE / 2;
+                    double y = player.getY() + Player.PLAYER_SIZE / 2;
+                    addDeathEffects(x, y);
+                    gameOver = true;
+                } else if (!stressMode) {
+                    sound.soundHit();
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkPlayer(long handle) {
+        Rocket rocket = rockets.resolve(handle);
+        if (rocket != null && player.isAlive()) {
+            collisionStats.addTest();
+            if (player.getHull().intersects(rocket.getHull())) {
+                collisionStats.addHit();
+                double rocketHp = rocket.getHP();
+                if (!rocket.updateHP(player.getHP())) {
+                    rockets.destroy(handle);
+                    sound.soundDestroy();
+                    double x = rocket.getX() + Rocket.ROCKET_SIZE / 2;
+                    double y = rocket.getY() + Rocket.ROCKET_SIZE / 2;
+                    addDeathEffects(x, y);
+                }
+                if (!stressMode && !player.updateHP(rocketHp)) {
+                    player.setAlive(false);
+                    sound.soundDestroy();
+                    double x = player.getX() + Player.PLAYER_SIZE / 2;
+                    double y = player.getY() + Player.PLAYER_SIZE / 2;
+                    addDeathEffects(x, y);
+                    gameOver = true;
+                }
+            }
+        }
+    }
+
+    private Bullet newBullet(double x, double y, float angle, double size, float speed, Color color) {
+        Bullet bullet = bulletPool.obtain();
+        bullet.init(x, y, angle, size, speed, color);
+        return bullet;
+    }
+
+    private void freeBullet(Bullet bullet) {
+        bulletPool.free(bullet);
+    }
+
+    private void freeRocket(Rocket rocket) {
+        rocketPool.free(rocket);
+    }
+
+    private void addEffect(double x, double y, int totalEffect, int maxSize, double maxDistance, float speed, Color color) {
+        if (stressMode) {
+            // Only the stress scenario emits, so the particle count stays at its target
+            return;
+        }
+        boomEffects.emit(x, y, quality.scale(totalEffect), maxSize, maxDistance, speed, color);
+    }
+
+    private void addExplosionEffects(double x, double y) {
+        addEffect(x, y, 15, 20, 30, 1.0f, BLAST_COLOR);
+        addEffect(x, y, 10, 15, 40, 0.8f, FIRE_COLOR);
+        addEffect(x, y, 20, 5, 50, 0.3f, SHOCK_COLOR);
+        for (int j = 0; j < 8; j++) {
+            float sparkSpeed = 2.0f + effectsRand.nextFloat();
+            addEffect(x, y, 2, 3, 20 + j * 5, sparkSpeed, SPARK_COLOR);
+        }
+        if (!quality.hasCosmeticEffects()) {
+            return;
+        }
+        for (int j = 0; j < 5; j++) {
+            float debrisSpeed = 0.5f + effectsRand.nextFloat() * 0.5f;
+            addEffect(x, y, 5, 5, 60 + j * 10, debrisSpeed, DEBRIS_COLOR);
+        }
+        addEffect(x, y, 20, 10, 100, 0.1f, SMOKE_COLOR);
+    }
+
+    private void addDeathEffects(double x, double y) {
+        addEffect(x, y, 5, 5, 75, 0.05f, CORE_COLOR);
+        addEffect(x, y, 5, 5, 75, 0.1f, CORE_COLOR);
+        addEffect(x, y, 10, 10, 100, 0.3f, FLASH_COLOR);
+        addEffect(x, y, 10, 5, 100, 0.5f, SPARK_COLOR);
+        addEffect(x, y, 10, 5, 150, 0.2f, BLAST_COLOR);
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    // Milliseconds of simulated time, advanced only by update()
+    public long getGameTime() {
+        return (long) (tickCount * GameLoop.TICK_MILLIS);
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public EntityStore<Bullet> getBullets() {
+        return bullets;
+    }
+
+    public EntityStore<Bullet> getRocketBullets() {
+        return rocketBullets;
+    }
+
+    public EntityStore<Rocket> getRockets() {
+        return rockets;
+    }
+
+    public ParticleSystem getBoomEffects() {
+        return boomEffects;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLargeBulletsUsed() {
+        return largeBulletsUsed;
+    }
+
+    public int getLargeAmmoLimit() {
+        return largeAmmoLimit;
+    }
+
+    // Whole seconds until the large bullets reload, or 0 when none are spent
+    public int getReloadSecondsRemaining() {
+        if (largeBulletsUsed < largeAmmoLimit) {
+            return 0;
+        }
+        long timeSinceLastReload = getGameTime() - lastReloadTime;
+        return Math.max(0, (int) ((reloadInterval - timeSinceLastReload) / 1000));
+    }
+
+    public CollisionStats getCollisionStats() {
+        return collisionStats;
+    }
+
+    public Pool<Bullet> getBulletPool() {
+        return bulletPool;
+    }
+
+    public Pool<Rocket> getRocketPool() {
+        return rocketPool;
+    }
+
+    public int getWaveNumber() {
+        return director.getWaveNumber();
+    }
+
+    public void setStressMode(boolean stressMode) {
+        this.stressMode = stressMode;
+    }
+
+    public Quality getQuality() {
+        return quality;
+    }
+
+    // Scales the effects emitted from now on; the game itself plays out the same at every level
+    public void setQuality(Quality quality) {
+        this.quality = quality;
+    }
+
+    // Replaces the wave list and starts it from the first wave
+    public void setWaves(List<Wave> waves) {
+        director.setWaves(waves);
+    }
+
+    // Narrow-phase results for one chunk of bullets: every live candidate rocket, in bullet then grid order
+    private static class CollisionBuffer {
+
+        final SpatialGrid.Query query = new SpatialGrid.Query();
+        int[] bullets = new int[64];
+        long[] rockets = new long[64];
+        boolean[] intersects = new boolean[64];
+        int size;
+
+        void add(int bullet, long rocket, boolean hit) {
+            if (size == bullets.length) {
+                bullets = Arrays.copyOf(bullets, size * 2);
+                rockets = Arrays.copyOf(rockets, size * 2);
+                intersects = Arrays.copyOf(intersects, size * 2);
+            }
+            bullets[size] = bullet;
+            rockets[size] = rocket;
+            intersects[size] = hit;
+            size++;
+        }
+    }
+}
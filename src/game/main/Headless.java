@@ -0,0 +1,104 @@
+package game.main;
+
+import game.engine.GameLoop;
+import game.engine.ReplayInput;
+import game.engine.ScriptedInput;
+import game.engine.World;
+import game.obj.sound.Sound;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * Runs the game rules without a window, images or audio, as fast as the CPU
+ * allows, with input taken from a script. A new game starts whenever the
+ * player dies, so long soak runs keep exercising the full game loop.
+ * With --replay the input, seed and size come from a recorded game instead,
+ * which is played back once at full speed, e.g. under a profiler.
+ *
+ * Usage: Headless [--ticks N] [--script file] [--seed N] [--size WxH]
+ *        Headless --replay file
+ */
+public class Headless {
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        long ticks = GameLoop.TICK_RATE * 3600L; // one hour of game time
+        long seed = System.nanoTime();
+        int width = 1366;
+        int height = 768;
+        ScriptedInput input = ScriptedInput.demo();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--ticks": ticks = Long.parseLong(args[++i]); break;
+                case "--script": input = ScriptedInput.load(Paths.get(args[++i])); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--replay":
+                    replay(Paths.get(args[++i]));
+                    return;
+                case "--size":
+                    String[] size = args[++i].split("x");
+                    width = Integer.parseInt(size[0]);
+                    height = Integer.parseInt(size[1]);
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(1);
+            }
+        }
+
+        World world = new World(width, height, input, new Sound(false), new Random(seed));
+        world.reset();
+        System.out.println("Headless run: " + ticks + " ticks, seed " + seed + ", " + width + "x" + height);
+
+        int games = 1;
+        long kills = 0;
+        long start = System.nanoTime();
+        long reportAt = start + 1000000000L;
+        long reportTicks = 0;
+        for (long tick = 0; tick < ticks; tick++) {
+            input.advance(world.getTickCount());
+            world.update();
+            if (world.isGameOver()) {
+                kills += world.getScore();
+                games++;
+                world.reset();
+            }
+            long now = System.nanoTime();
+            if (now >= reportAt) {
+                System.out.printf("  %,d ticks/s, game time %ds%n", tick - reportTicks, world.getGameTime() / 1000);
+                reportTicks = tick;
+                reportAt = now + 1000000000L;
+            }
+        }
+        kills += world.getScore();
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double gameSeconds = ticks / (double) GameLoop.TICK_RATE;
+        System.out.printf("Done: %,d ticks in %.2fs = %,.0f ticks/s (%.0fx real time)%n",
+                ticks, seconds, ticks / seconds, gameSeconds / seconds);
+        System.out.println("Games: " + games + ", rockets destroyed: " + kills);
+    }
+
+    private static void replay(Path path) throws IOException {
+        ReplayInput input = ReplayInput.load(path);
+        World world = input.createWorld(new Sound(false));
+        System.out.println("Replaying " + path + ": " + input.getLength() + " ticks, seed " + input.getSeed()
+                + ", " + input.getWidth() + "x" + input.getHeight());
+        long start = System.nanoTime();
+        long gameOverTick = -1;
+        while (input.advance()) {
+            world.update();
+            if (gameOverTick < 0 && world.isGameOver()) {
+                gameOverTick = world.getTickCount();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Done: %,d ticks in %.2fs = %,.0f ticks/s%n",
+                input.getTick(), seconds, input.getTick() / seconds);
+        System.out.println("Score: " + world.getScore() + (gameOverTick < 0 ? ", player alive" : ", player died at tick " + gameOverTick)
+                + ", rockets " + world.getRockets().size() + ", player at "
+                + Math.round(world.getPlayer().getX()) + "," + Math.round(world.getPlayer().getY()));
+    }
+}
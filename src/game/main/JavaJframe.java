@@ -13,12 +13,7 @@ public class JavaJframe extends JFrame {
   
     public JavaJframe() {
         initComponents();
-       
-        setSize(1366, 768); // 1920x1080 
-        //setExtendedState(JFrame.MAXIMIZED_BOTH);
-
-
-        setLocationRelativeTo(null);
+        WindowSize.apply(this);
         // Add PanelGame to jPanel1
         PanelGame panelGame = new PanelGame();
         jPanel1.add(panelGame, BorderLayout.CENTER);
@@ -41,7 +36,6 @@ public class JavaJframe extends JFrame {
         setDefaultCloseOperation(javax.swing.WindowConstants.DO_NOTHING_ON_CLOSE);
         setBackground(new java.awt.Color(0, 0, 0));
         setUndecorated(true);
-        setResizable(false);
 
         jPanel1.setBackground(new java.awt.Color(0, 0, 0));
         jPanel1.setAlignmentX(0.0F);
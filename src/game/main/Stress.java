@@ -0,0 +1,85 @@
+package game.main;
+
+import game.component.PanelGame;
+import game.engine.GameLoop;
+import game.engine.ScriptedInput;
+import game.engine.StressScenario;
+import game.engine.World;
+import game.metrics.StressReport;
+import game.obj.sound.Sound;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Runs the stress sweep without a window: each frame advances the world by
+ * a 60 FPS frame's worth of ticks and draws it into an offscreen image, as
+ * fast as the CPU allows. Results go to the same CSV and JSON tables as a
+ * windowed run with -Drocket.stress.
+ *
+ * Usage: Stress [--steps 10,100,1000,10000] [--warmup N] [--frames N] [--size WxH] [--out path]
+ */
+public class Stress {
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        int[] steps = {10, 100, 1000, 10000};
+        int warmup = 60;
+        int frames = 300;
+        int width = 1366;
+        int height = 768;
+        Path out = Paths.get("stress");
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--steps": steps = StressScenario.parseSteps(args[++i]); break;
+                case "--warmup": warmup = Integer.parseInt(args[++i]); break;
+                case "--frames": frames = Integer.parseInt(args[++i]); break;
+                case "--out": out = Paths.get(args[++i]); break;
+                case "--size":
+                    String[] size = args[++i].split("x");
+                    width = Integer.parseInt(size[0]);
+                    height = Integer.parseInt(size[1]);
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(1);
+            }
+        }
+
+        World world = new World(width, height, ScriptedInput.parse(Arrays.asList("0")), new Sound(false), new Random(1));
+        PanelGame panel = new PanelGame();
+        panel.startOffscreen(world, width, height);
+        StressScenario scenario = new StressScenario(steps, warmup, frames);
+        StressReport report = new StressReport();
+        scenario.start(world);
+        System.out.println("Stress run: " + width + "x" + height + ", " + warmup + " warm-up and " + frames + " measured frames per step");
+        System.out.println(StressReport.header());
+
+        long accumulator = 0;
+        while (!scenario.isDone()) {
+            long frameStart = System.nanoTime();
+            accumulator += 1000000000L / 60;
+            while (accumulator >= GameLoop.TICK_NANOS) {
+                scenario.populate(world);
+                long tickStart = System.nanoTime();
+                world.update();
+                if (scenario.isMeasuring()) {
+                    report.recordTick(world, System.nanoTime() - tickStart);
+                }
+                accumulator -= GameLoop.TICK_NANOS;
+            }
+            panel.drawFrame((float) accumulator / GameLoop.TICK_NANOS);
+            if (scenario.isMeasuring()) {
+                report.recordFrame(world, System.nanoTime() - frameStart);
+            }
+            int target = scenario.getTarget();
+            if (scenario.endFrame(world)) {
+                report.endStep(target);
+            }
+        }
+        report.write(out);
+        System.out.println("Results written to " + out + ".csv and " + out + ".json");
+    }
+}
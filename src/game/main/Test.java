@@ -14,9 +14,7 @@ public class Test extends JFrame {
 
     private void init() {
         setUndecorated(true); 
-        setSize(1366, 768);
-        setLocationRelativeTo(null);
-        setResizable(false);
+        WindowSize.apply(this);
         setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE); // Disable default close; use 'Q' key instead
         setLayout(new BorderLayout());
         PanelGame panelGame = new PanelGame();
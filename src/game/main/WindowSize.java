@@ -0,0 +1,45 @@
+package game.main;
+
+import game.component.PanelGame;
+import java.awt.GraphicsEnvironment;
+import java.awt.Rectangle;
+import javax.swing.JFrame;
+
+/**
+ * Initial size of the game window. {@code -Drocket.window=1920x1080} asks
+ * for a size and {@code -Drocket.window=fullscreen} fills the screen; by
+ * default the window has the game's logical size, shrunk to fit smaller
+ * screens. The game is scaled to whatever size the window ends up with.
+ */
+final class WindowSize {
+
+    private static final String SETTING = System.getProperty("rocket.window", "");
+
+    private WindowSize() {
+    }
+
+    static void apply(JFrame frame) {
+        Rectangle screen = GraphicsEnvironment.getLocalGraphicsEnvironment().getMaximumWindowBounds();
+        if ("fullscreen".equals(SETTING)) {
+            frame.setBounds(screen);
+            frame.setExtendedState(JFrame.MAXIMIZED_BOTH);
+            return;
+        }
+        int width = PanelGame.LOGICAL_WIDTH;
+        int height = PanelGame.LOGICAL_HEIGHT;
+        if (SETTING.matches("\\d+x\\d+")) {
+            String[] size = SETTING.split("x");
+            width = Integer.parseInt(size[0]);
+            height = Integer.parseInt(size[1]);
+        } else {
+            if (!SETTING.isEmpty()) {
+                System.err.println("Unknown window size " + SETTING + ", using the default");
+            }
+            double fit = Math.min(1, Math.min(screen.width / (double) width, screen.height / (double) height));
+            width = (int) (width * fit);
+            height = (int) (height * fit);
+        }
+        frame.setSize(width, height);
+        frame.setLocationRelativeTo(null);
+    }
+}
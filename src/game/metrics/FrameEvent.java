@@ -0,0 +1,46 @@
+package game.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * One rendered frame, recorded by JFR when {@code rocket.Frame} is enabled,
+ * so frame hitches can be lined up with GC and collision spikes.
+ */
+@Name("rocket.Frame")
+@Label("Frame")
+@Category("Rocket Game")
+@Description("Drawing and presenting one frame")
+public class FrameEvent extends Event {
+
+    @Label("Draw Time")
+    @Timespan
+    long drawTime;
+
+    @Label("Present Time")
+    @Timespan
+    long presentTime;
+
+    @Label("Allocated")
+    @Description("Bytes allocated by the game thread since the previous frame")
+    @DataAmount
+    long allocated;
+
+    @Label("Rockets")
+    int rockets;
+
+    @Label("Bullets")
+    int bullets;
+
+    @Label("Particles")
+    int particles;
+
+    @Label("Quality")
+    @Description("Rendering quality level the frame was drawn at")
+    String quality;
+}
@@ -0,0 +1,98 @@
+package game.metrics;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size log-linear histogram of non-negative long values, in the
+ * style of HdrHistogram: values below 128 are counted exactly and larger
+ * ones in 64 linear steps per power of two, so any percentile is within
+ * about 1.6% of the true value. Recording is a shift and an increment, with
+ * no allocation.
+ */
+public class Histogram {
+
+    private static final int SUB_BITS = 6;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    // Covers values up to 2^40, about 18 minutes in nanoseconds
+    private static final int MAX_BITS = 40;
+
+    private final long[] counts = new long[(MAX_BITS - SUB_BITS + 1) * SUB_COUNT + SUB_COUNT];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[index(value)]++;
+        count++;
+        sum += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    // The value at or below which the given percentage (0-100) of recorded values fall
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, highestValue(i));
+            }
+        }
+        return max;
+    }
+
+    private static int index(long value) {
+        if (value < SUB_COUNT * 2) {
+            return (int) value;
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_BITS) - SUB_BITS;
+        long mantissa = Math.min(value >>> exponent, SUB_COUNT * 2 - 1);
+        return SUB_COUNT * (exponent + 1) + (int) (mantissa - SUB_COUNT);
+    }
+
+    // Largest value that lands in bucket i
+    private static long highestValue(int i) {
+        if (i < SUB_COUNT * 2) {
+            return i;
+        }
+        int exponent = i / SUB_COUNT - 1;
+        long mantissa = i % SUB_COUNT + SUB_COUNT;
+        return ((mantissa + 1) << exponent) - 1;
+    }
+}
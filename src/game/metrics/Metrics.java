@@ -0,0 +1,237 @@
+package game.metrics;
+
+import game.collision.CollisionStats;
+import game.engine.Quality;
+import game.engine.World;
+import game.obj.sound.Sound;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import jdk.jfr.EventType;
+
+/**
+ * Frame, tick and allocation measurements for the game thread. Values are
+ * collected into histograms over a one-second window; when a window closes
+ * its summary becomes available through {@link #getSummary()} and the
+ * histograms start over. Recording does not allocate. Frames and ticks are
+ * also emitted as JFR events when a recording enables them.
+ */
+public class Metrics {
+
+    private static final long WINDOW_NANOS = 1000000000L;
+    private static final EventType FRAME_EVENT = EventType.getEventType(FrameEvent.class);
+    private static final EventType TICK_EVENT = EventType.getEventType(TickEvent.class);
+
+    private final World world;
+    private final Sound sound;
+    private final com.sun.management.ThreadMXBean threads;
+
+    private final Histogram draw = new Histogram();
+    private final Histogram present = new Histogram();
+    private final Histogram tick = new Histogram();
+    private final Histogram collisionTests = new Histogram();
+    private final Histogram allocated = new Histogram();
+    // Percentage of the screen redrawn per frame
+    private final Histogram repainted = new Histogram();
+    // Time between presented frames; mean and variance kept exactly, percentiles from the histogram
+    private final Histogram interval = new Histogram();
+    private double intervalMean;
+    private double intervalSquares;
+    private long lastPresented;
+    // Frames presented more than half a period late
+    private int lateFrames;
+    // Frames with nothing to present
+    private int skippedFrames;
+    private int targetFps;
+    private Quality quality = Quality.HIGH;
+    private int qualityChanges;
+    // Kept across windows, since key presses are sparse
+    private final Histogram inputLatency = new Histogram();
+    private final long[] pendingInputs = new long[64];
+    private int pendingInputCount;
+    private long windowStart = System.nanoTime();
+    private long tickStart;
+    private TickEvent tickEvent;
+    private long lastAllocated = -1;
+    private long lastTriggers;
+
+    private long window;
+    private List<String> summary = new ArrayList<>();
+
+    public Metrics(World world, Sound sound) {
+        this.world = world;
+        this.sound = sound;
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            threads = (com.sun.management.ThreadMXBean) bean;
+            threads.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            threads = null;
+        }
+    }
+
+    public void beginTick() {
+        tickStart = System.nanoTime();
+        if (TICK_EVENT.isEnabled()) {
+            tickEvent = new TickEvent();
+            tickEvent.begin();
+        }
+    }
+
+    public void endTick() {
+        tick.record(System.nanoTime() - tickStart);
+        CollisionStats stats = world.getCollisionStats();
+        collisionTests.record(stats.getTests());
+        if (tickEvent != null) {
+            tickEvent.end();
+            if (tickEvent.shouldCommit()) {
+                tickEvent.collisionTests = stats.getTests();
+                tickEvent.collisionHits = stats.getHits();
+                tickEvent.commit();
+            }
+            tickEvent = null;
+        }
+    }
+
+    // A key press taken from the input queue; its latency is recorded when the next frame is presented
+    public void inputApplied(long eventNanos) {
+        if (pendingInputCount < pendingInputs.length) {
+            pendingInputs[pendingInputCount++] = eventNanos;
+        }
+    }
+
+    // 0 when uncapped
+    public void setTargetFps(int targetFps) {
+        this.targetFps = targetFps;
+    }
+
+    public void recordQuality(Quality quality) {
+        if (quality != this.quality) {
+            this.quality = quality;
+            qualityChanges++;
+        }
+    }
+
+    public void recordRepaint(float coverage) {
+        repainted.record(Math.round(coverage * 100));
+    }
+
+    // Called instead of recordFrame for a frame that had nothing to present; key presses
+    // stay pending until a frame that shows them reaches the screen
+    public void recordSkippedFrame() {
+        skippedFrames++;
+        // The gap up to the next presented frame is an idle screen, not a late frame
+        lastPresented = 0;
+        long now = System.nanoTime();
+        if (now - windowStart >= WINDOW_NANOS) {
+            summarize(now);
+        }
+    }
+
+    // Called once per presented frame, on the game thread
+    public void recordFrame(long drawNanos, long presentNanos) {
+        long presented = System.nanoTime();
+        for (int i = 0; i < pendingInputCount; i++) {
+            inputLatency.record(presented - pendingInputs[i]);
+        }
+        pendingInputCount = 0;
+        if (lastPresented != 0) {
+            recordInterval(presented - lastPresented);
+        }
+        lastPresented = presented;
+        draw.record(drawNanos);
+        present.record(presentNanos);
+        long bytes = 0;
+        if (threads != null) {
+            long total = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            if (lastAllocated >= 0) {
+                bytes = total - lastAllocated;
+                allocated.record(bytes);
+            }
+            lastAllocated = total;
+        }
+        if (FRAME_EVENT.isEnabled()) {
+            FrameEvent event = new FrameEvent();
+            event.drawTime = drawNanos;
+            event.presentTime = presentNanos;
+            event.allocated = bytes;
+            event.rockets = world.getRockets().size();
+            event.bullets = world.getBullets().size() + world.getRocketBullets().size();
+            event.particles = world.getBoomEffects().size();
+            event.quality = quality.name();
+            event.commit();
+        }
+        if (presented - windowStart >= WINDOW_NANOS) {
+            summarize(presented);
+        }
+    }
+
+    // Welford's running mean and sum of squared deviations
+    private void recordInterval(long nanos) {
+        interval.record(nanos);
+        double delta = nanos - intervalMean;
+        intervalMean += delta / interval.getCount();
+        intervalSquares += delta * (nanos - intervalMean);
+        if (targetFps > 0 && nanos > 1500000000L / targetFps) {
+            lateFrames++;
+        }
+    }
+
+    // Increases each time a new summary is available
+    public long getWindow() {
+        return window;
+    }
+
+    public List<String> getSummary() {
+        return summary;
+    }
+
+    private void summarize(long now) {
+        double seconds = (now - windowStart) / 1e9;
+        long triggers = sound.getTriggerCount();
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("FPS %.1f of %s  %d skipped  quality %s  %d changes", draw.getCount() / seconds,
+                targetFps > 0 ? Integer.toString(targetFps) : "uncapped", skippedFrames, quality, qualityChanges));
+        double deviation = interval.getCount() > 1 ? Math.sqrt(intervalSquares / (interval.getCount() - 1)) : 0;
+        lines.add(String.format("frame time  mean %.2f  sd %.2f  p99 %.2f  max %.2f ms  %d late",
+                intervalMean / 1e6, deviation / 1e6, interval.getPercentile(99) / 1e6, interval.getMax() / 1e6, lateFrames));
+        lines.add(timeLine("draw", draw));
+        lines.add(timeLine("present", present));
+        lines.add(timeLine("tick", tick) + String.format("  %d ticks", tick.getCount()));
+        lines.add(String.format("rockets %d  bullets %d  rocket bullets %d  particles %d",
+                world.getRockets().size(), world.getBullets().size(), world.getRocketBullets().size(),
+                world.getBoomEffects().size()));
+        lines.add(String.format("repainted  mean %.0f%%  p99 %d%%", repainted.getMean(), repainted.getPercentile(99)));
+        lines.add(String.format("collision tests/tick  mean %.1f  p99 %d  max %d",
+                collisionTests.getMean(), collisionTests.getPercentile(99), collisionTests.getMax()));
+        lines.add(String.format("sound triggers/s %.0f", (triggers - lastTriggers) / seconds));
+        lines.add(threads == null ? "alloc/frame n/a" : String.format("alloc/frame  mean %.1f KB  p99 %.1f KB  max %.1f KB",
+                allocated.getMean() / 1024, allocated.getPercentile(99) / 1024.0, allocated.getMax() / 1024.0));
+        lines.add(String.format("input-to-photon  p50 %.1f  p90 %.1f  p99 %.1f  max %.1f ms  %d presses",
+                inputLatency.getPercentile(50) / 1e6, inputLatency.getPercentile(90) / 1e6,
+                inputLatency.getPercentile(99) / 1e6, inputLatency.getMax() / 1e6, inputLatency.getCount()));
+        summary = lines;
+        window++;
+
+        windowStart = now;
+        lastTriggers = triggers;
+        draw.reset();
+        present.reset();
+        tick.reset();
+        collisionTests.reset();
+        allocated.reset();
+        repainted.reset();
+        interval.reset();
+        intervalMean = 0;
+        intervalSquares = 0;
+        lateFrames = 0;
+        skippedFrames = 0;
+        qualityChanges = 0;
+    }
+
+    private static String timeLine(String name, Histogram histogram) {
+        return String.format("%-8s p50 %6.2f  p99 %6.2f  max %6.2f ms", name,
+                histogram.getPercentile(50) / 1e6, histogram.getPercentile(99) / 1e6, histogram.getMax() / 1e6);
+    }
+}
@@ -0,0 +1,107 @@
+package game.metrics;
+
+import game.engine.World;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Results of a stress run, one row per population step: frame, tick and
+ * collision times (mean and p99) and the entity counts actually reached.
+ * Written as CSV for spreadsheets and as JSON for scripts.
+ */
+public class StressReport {
+
+    private static final String[] COLUMNS = {
+        "target", "frames", "ticks", "rockets", "bullets", "rocket_bullets", "particles",
+        "frame_mean_ms", "frame_p99_ms", "tick_mean_ms", "tick_p99_ms",
+        "collision_mean_ms", "collision_p99_ms", "collision_tests_mean"
+    };
+
+    private final Histogram frame = new Histogram();
+    private final Histogram tick = new Histogram();
+    private final Histogram collision = new Histogram();
+    private final Histogram collisionTests = new Histogram();
+    private long rockets;
+    private long bullets;
+    private long rocketBullets;
+    private long particles;
+    private final List<double[]> rows = new ArrayList<>();
+
+    public void recordTick(World world, long tickNanos) {
+        tick.record(tickNanos);
+        collision.record(world.getCollisionStats().getNanos());
+        collisionTests.record(world.getCollisionStats().getTests());
+    }
+
+    public void recordFrame(World world, long frameNanos) {
+        frame.record(frameNanos);
+        rockets += world.getRockets().size();
+        bullets += world.getBullets().size();
+        rocketBullets += world.getRocketBullets().size();
+        particles += world.getBoomEffects().size();
+    }
+
+    public void endStep(int target) {
+        long frames = Math.max(1, frame.getCount());
+        rows.add(new double[] {
+            target, frame.getCount(), tick.getCount(),
+            rockets / frames, bullets / frames, rocketBullets / frames, particles / frames,
+            frame.getMean() / 1e6, frame.getPercentile(99) / 1e6,
+            tick.getMean() / 1e6, tick.getPercentile(99) / 1e6,
+            collision.getMean() / 1e6, collision.getPercentile(99) / 1e6,
+            collisionTests.getMean()
+        });
+        System.out.println(format(rows.get(rows.size() - 1), ", "));
+        frame.reset();
+        tick.reset();
+        collision.reset();
+        collisionTests.reset();
+        rockets = 0;
+        bullets = 0;
+        rocketBullets = 0;
+        particles = 0;
+    }
+
+    public static String header() {
+        return String.join(", ", COLUMNS);
+    }
+
+    // Writes base.csv and base.json
+    public void write(Path base) throws IOException {
+        Path dir = base.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        StringBuilder csv = new StringBuilder(String.join(",", COLUMNS)).append('\n');
+        StringBuilder json = new StringBuilder("[\n");
+        for (int r = 0; r < rows.size(); r++) {
+            double[] row = rows.get(r);
+            csv.append(format(row, ",")).append('\n');
+            json.append("  {");
+            for (int c = 0; c < COLUMNS.length; c++) {
+                json.append(c == 0 ? "" : ", ").append('"').append(COLUMNS[c]).append("\": ").append(value(row[c]));
+            }
+            json.append(r + 1 < rows.size() ? "},\n" : "}\n");
+        }
+        json.append("]\n");
+        Files.writeString(base.resolveSibling(base.getFileName() + ".csv"), csv);
+        Files.writeString(base.resolveSibling(base.getFileName() + ".json"), json);
+    }
+
+    private static String format(double[] row, String separator) {
+        StringBuilder line = new StringBuilder();
+        for (int c = 0; c < row.length; c++) {
+            line.append(c == 0 ? "" : separator).append(value(row[c]));
+        }
+        return line.toString();
+    }
+
+    // Counts print as integers, times with three decimals
+    private static String value(double v) {
+        return v == Math.rint(v) && Math.abs(v) < 1e15 ? Long.toString((long) v) : String.format(Locale.ROOT, "%.3f", v);
+    }
+}
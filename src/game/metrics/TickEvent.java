@@ -0,0 +1,23 @@
+package game.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One simulation tick; the event duration is the tick time.
+ */
+@Name("rocket.Tick")
+@Label("Tick")
+@Category("Rocket Game")
+@Description("One fixed simulation step")
+public class TickEvent extends Event {
+
+    @Label("Collision Tests")
+    long collisionTests;
+
+    @Label("Collision Hits")
+    long collisionHits;
+}
@@ -0,0 +1,162 @@
+package game.obj;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.IOException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+/**
+ * Images and sprites shared by every entity and screen. Each image is decoded
+ * once and converted to the screen's own pixel layout, so drawing it needs no
+ * per-frame conversion. Only the render side calls this; the simulation never
+ * touches images.
+ */
+public final class Assets {
+
+    public static final String PLANE = "/game/image/plane.png";
+    public static final String PLANE_SPEED = "/game/image/plane_speed.png";
+    public static final String ROCKET = "/game/image/rocket.png";
+    public static final String BACKGROUND = "/game/image/background.png";
+
+    private static final Map<String, BufferedImage> IMAGES = new LinkedHashMap<>();
+    private static final Map<String, Long> LOAD_NANOS = new LinkedHashMap<>();
+    private static final Map<String, RotatedSprite> SPRITES = new LinkedHashMap<>();
+    private static BufferedImage background;
+
+    private Assets() {
+    }
+
+    // Decodes everything the game draws, so the first frames do not stall on image loading
+    public static void load() {
+        playerSprite(false);
+        playerSprite(true);
+        rocketSprite();
+        image(BACKGROUND);
+    }
+
+    public static RotatedSprite playerSprite(boolean speedUp) {
+        return sprite(speedUp ? PLANE_SPEED : PLANE, Player.PLAYER_SIZE / 2, Player.PLAYER_SIZE / 2, 45);
+    }
+
+    public static RotatedSprite rocketSprite() {
+        return sprite(ROCKET, Rocket.ROCKET_SIZE / 2, Rocket.ROCKET_SIZE / 2, 45);
+    }
+
+    public static synchronized RotatedSprite sprite(String path, double pivotX, double pivotY, float angleOffset) {
+        RotatedSprite sprite = SPRITES.get(path);
+        if (sprite == null) {
+            BufferedImage image = image(path);
+            if (image == null) {
+                image = compatibleImage(1, 1, Transparency.TRANSLUCENT);
+            }
+            sprite = new RotatedSprite(image, pivotX, pivotY, angleOffset);
+            SPRITES.put(path, sprite);
+        }
+        return sprite;
+    }
+
+    // Returns null if the image could not be loaded
+    public static synchronized BufferedImage image(String path) {
+        if (IMAGES.containsKey(path)) {
+            return IMAGES.get(path);
+        }
+        long start = System.nanoTime();
+        BufferedImage image = null;
+        URL url = Assets.class.getResource(path);
+        try {
+            if (url == null) {
+                throw new IOException("not found");
+            }
+            BufferedImage decoded = ImageIO.read(url);
+            image = compatibleImage(decoded.getWidth(), decoded.getHeight(), decoded.getTransparency());
+            Graphics2D g2 = image.createGraphics();
+            g2.drawImage(decoded, 0, 0, null);
+            g2.dispose();
+        } catch (IOException e) {
+            System.err.println("Error loading " + path + ": " + e.getMessage());
+        }
+        IMAGES.put(path, image);
+        LOAD_NANOS.put(path, System.nanoTime() - start);
+        return image;
+    }
+
+    // The background scaled once to the given size; rescaled only when the size changes
+    public static synchronized BufferedImage background(int width, int height) {
+        if (background == null || background.getWidth() != width || background.getHeight() != height) {
+            BufferedImage scaled = scaleBackground(width, height);
+            if (scaled == null) {
+                return null;
+            }
+            background = scaled;
+        }
+        return background;
+    }
+
+    // A newly scaled copy of the background, not cached; safe to call off the game thread
+    public static BufferedImage scaleBackground(int width, int height) {
+        BufferedImage source = image(BACKGROUND);
+        if (source == null) {
+            return null;
+        }
+        BufferedImage scaled = compatibleImage(width, height, Transparency.OPAQUE);
+        Graphics2D g2 = scaled.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2.drawImage(source, 0, 0, width, height, null);
+        g2.dispose();
+        return scaled;
+    }
+
+    // An image in the screen's preferred layout; plain ARGB when there is no screen
+    public static BufferedImage compatibleImage(int width, int height, int transparency) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, transparency == Transparency.OPAQUE
+                    ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration().createCompatibleImage(width, height, transparency);
+    }
+
+    public static long bytes(BufferedImage image) {
+        if (image == null) {
+            return 0;
+        }
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    // Load time and memory per asset; sprite frames are counted as they have been rendered so far
+    public static synchronized String report() {
+        StringBuilder sb = new StringBuilder("Assets:\n");
+        long total = 0;
+        for (Map.Entry<String, BufferedImage> entry : IMAGES.entrySet()) {
+            BufferedImage image = entry.getValue();
+            long bytes = bytes(image);
+            total += bytes;
+            sb.append(String.format("  %-34s %s %7.2f ms %9d bytes%n", entry.getKey(),
+                    image == null ? "missing  " : String.format("%4dx%-4d", image.getWidth(), image.getHeight()),
+                    LOAD_NANOS.get(entry.getKey()) / 1e6, bytes));
+        }
+        if (background != null) {
+            long bytes = bytes(background);
+            total += bytes;
+            sb.append(String.format("  %-34s %4dx%-4d %10s %9d bytes%n", "background (scaled)",
+                    background.getWidth(), background.getHeight(), "", bytes));
+        }
+        for (Map.Entry<String, RotatedSprite> entry : SPRITES.entrySet()) {
+            RotatedSprite sprite = entry.getValue();
+            total += sprite.getBytes();
+            sb.append(String.format("  %-34s %4d/%-4d frames %9d bytes%n", entry.getKey() + " (rotated)",
+                    sprite.getRenderedFrames(), sprite.getFrameCount(), sprite.getBytes()));
+        }
+        sb.append(String.format("  total %d bytes", total));
+        return sb.toString();
+    }
+}
@@ -1,5 +1,8 @@
 package game.obj;
 
+import game.collision.Hull;
+import game.collision.HullShape;
+import game.engine.GameLoop;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Shape;
@@ -11,41 +14,118 @@ public class Bullet {
 
     private double x;
     private double y;
-    private final Shape shape;
-    private final Color color;
-    private final float angle;
-    private final double size;
+    private double prevX;
+    private double prevY;
+    private double stepX;
+    private double stepY;
+    private final RoundRectangle2D shape = new RoundRectangle2D.Double();
+    private Hull hull;
+    private Color color;
+    private float angle;
+    private double size;
     private float speed = 1f;
 
+    // Hull outlines for the few bullet sizes in use, shared by every bullet of that size
+    private static final double[] HULL_SIZES = new double[8];
+    private static final HullShape[] HULL_SHAPES = new HullShape[8];
+    // Pre-rotated sprites, one per size and colour in use
+    private static final double[] SPRITE_SIZES = new double[8];
+    private static final Color[] SPRITE_COLORS = new Color[8];
+    private static final RotatedSprite[] SPRITES = new RotatedSprite[8];
+    private RotatedSprite sprite;
+
     public Bullet(double x, double y, float angle, double size, float speed, Color color) {
+        init(x, y, angle, size, speed, color);
+    }
+
+    public Bullet() {
+    }
+
+    // Reinitialise a pooled bullet; allocates only the first time a new size is seen
+    public final void init(double x, double y, float angle, double size, float speed, Color color) {
         x += Player.PLAYER_SIZE / 2 - (size / 2); // Center on player
         y += Player.PLAYER_SIZE / 2 - (size / 2);
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
         this.angle = angle;
-        this.size = size;
         this.speed = speed;
+        if (color != this.color || size != this.size) {
+            sprite = null;
+        }
         this.color = color;
-        // Define shape once, no resizing later
-        this.shape = new RoundRectangle2D.Double(0, 0, size * 2, size / 2, size / 2, size / 2);
+        // Speed is in pixels per millisecond of game time
+        this.stepX = Math.cos(Math.toRadians(angle)) * speed * GameLoop.TICK_MILLIS;
+        this.stepY = Math.sin(Math.toRadians(angle)) * speed * GameLoop.TICK_MILLIS;
+        if (hull == null || size != this.size) {
+            this.size = size;
+            shape.setRoundRect(0, 0, size * 2, size / 2, size / 2, size / 2);
+            HullShape hullShape = hullShape(size, shape);
+            if (hull == null) {
+                hull = new Hull(hullShape);
+            } else {
+                hull.setShape(hullShape);
+            }
+        }
+    }
+
+    private static RotatedSprite sprite(double size, Color color, Shape shape) {
+        int i = 0;
+        while (i < SPRITES.length && SPRITES[i] != null) {
+            if (SPRITE_SIZES[i] == size && SPRITE_COLORS[i].equals(color)) {
+                return SPRITES[i];
+            }
+            i++;
+        }
+        RotatedSprite sprite = RotatedSprite.of(shape, color, size, size / 4);
+        if (i < SPRITES.length) {
+            SPRITE_SIZES[i] = size;
+            SPRITE_COLORS[i] = color;
+            SPRITES[i] = sprite;
+        }
+        return sprite;
+    }
+
+    private static HullShape hullShape(double size, Shape shape) {
+        int i = 0;
+        while (i < HULL_SHAPES.length && HULL_SHAPES[i] != null) {
+            if (HULL_SIZES[i] == size) {
+                return HULL_SHAPES[i];
+            }
+            i++;
+        }
+        HullShape hullShape = new HullShape(shape, size, size / 4);
+        if (i < HULL_SHAPES.length) {
+            HULL_SIZES[i] = size;
+            HULL_SHAPES[i] = hullShape;
+        }
+        return hullShape;
     }
 
     public void update() {
-        x += Math.cos(Math.toRadians(angle)) * speed;
-        y += Math.sin(Math.toRadians(angle)) * speed;
+        prevX = x;
+        prevY = y;
+        x += stepX;
+        y += stepY;
     }
 
     public boolean check(int width, int height) {
         return !(x <= -size || y < -size || x > width || y > height);
     }
 
-    public void draw(Graphics2D g2) {
-        AffineTransform oldTransform = g2.getTransform();
-        g2.translate(x, y);
-        g2.rotate(Math.toRadians(angle), size, size / 4); // Rotate around center
-        g2.setColor(color);
-        g2.fill(shape); // Shape remains constant
-        g2.setTransform(oldTransform);
+    public void draw(Graphics2D g2, float interpolation) {
+        if (sprite == null) {
+            sprite = sprite(size, color, shape);
+        }
+        sprite.draw(g2, prevX + (x - prevX) * interpolation, prevY + (y - prevY) * interpolation, angle);
+    }
+
+    public void addBounds(DirtyRegion region, float interpolation) {
+        if (sprite == null) {
+            sprite = sprite(size, color, shape);
+        }
+        sprite.addBounds(region, prevX + (x - prevX) * interpolation, prevY + (y - prevY) * interpolation);
     }
 
     public Shape getShape() {
@@ -55,6 +135,12 @@ public class Bullet {
         return new Area(at.createTransformedShape(shape));
     }
 
+    // Transformed outline, recomputed only after the bullet has moved
+    public Hull getHull() {
+        hull.update(x, y, angle);
+        return hull;
+    }
+
     public double getX() {
         return x;
     }
@@ -74,4 +160,5 @@ public class Bullet {
     public double getCenterY() {
         return y + size / 4;
     }
+
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package game.obj;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The parts of the screen that have to be redrawn, kept as a grid of
+ * {@link #TILE}-pixel tiles. Bounds are added grown by a pixel on each side
+ * to cover anti-aliased edges. {@link #getRects()} merges the dirty tiles
+ * into rectangles: runs of tiles along a row, joined with identical runs in
+ * the rows below.
+ */
+public class DirtyRegion {
+
+    public static final int TILE = 32;
+
+    private final int width;
+    private final int height;
+    private final int cols;
+    private final int rows;
+    private final boolean[] tiles;
+    private int dirty;
+    private final List<Rectangle> rects = new ArrayList<>();
+    private final List<Rectangle> spare = new ArrayList<>();
+    private boolean merged;
+
+    public DirtyRegion(int width, int height) {
+        this.width = width;
+        this.height = height;
+        cols = Math.max(1, (width + TILE - 1) / TILE);
+        rows = Math.max(1, (height + TILE - 1) / TILE);
+        tiles = new boolean[cols * rows];
+    }
+
+    // Returns true if any tile under the bounds was still clean
+    public boolean add(int x, int y, int w, int h) {
+        if (w <= 0 || h <= 0) {
+            return false;
+        }
+        int col0 = Math.max(0, Math.floorDiv(x - 1, TILE));
+        int col1 = Math.min(cols - 1, Math.floorDiv(x + w, TILE));
+        int row0 = Math.max(0, Math.floorDiv(y - 1, TILE));
+        int row1 = Math.min(rows - 1, Math.floorDiv(y + h, TILE));
+        boolean added = false;
+        for (int row = row0; row <= row1; row++) {
+            for (int i = row * cols + col0, end = row * cols + col1; i <= end; i++) {
+                if (!tiles[i]) {
+                    tiles[i] = true;
+                    dirty++;
+                    added = true;
+                }
+            }
+        }
+        if (added) {
+            merged = false;
+        }
+        return added;
+    }
+
+    public void add(DirtyRegion other) {
+        for (int i = 0; i < tiles.length; i++) {
+            if (other.tiles[i] && !tiles[i]) {
+                tiles[i] = true;
+                dirty++;
+                merged = false;
+            }
+        }
+    }
+
+    public void addAll() {
+        if (dirty < tiles.length) {
+            Arrays.fill(tiles, true);
+            dirty = tiles.length;
+            merged = false;
+        }
+    }
+
+    public boolean intersects(int x, int y, int w, int h) {
+        if (w <= 0 || h <= 0 || dirty == 0) {
+            return false;
+        }
+        int col0 = Math.max(0, Math.floorDiv(x - 1, TILE));
+        int col1 = Math.min(cols - 1, Math.floorDiv(x + w, TILE));
+        int row0 = Math.max(0, Math.floorDiv(y - 1, TILE));
+        int row1 = Math.min(rows - 1, Math.floorDiv(y + h, TILE));
+        for (int row = row0; row <= row1; row++) {
+            for (int i = row * cols + col0, end = row * cols + col1; i <= end; i++) {
+                if (tiles[i]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        if (dirty > 0) {
+            Arrays.fill(tiles, false);
+            dirty = 0;
+            merged = false;
+        }
+    }
+
+    public boolean isEmpty() {
+        return dirty == 0;
+    }
+
+    public boolean isFull() {
+        return dirty == tiles.length;
+    }
+
+    // Fraction of the tiles that are dirty
+    public float getCoverage() {
+        return (float) dirty / tiles.length;
+    }
+
+    // The dirty area as rectangles clipped to the screen; valid until the region next changes
+    public List<Rectangle> getRects() {
+        if (merged) {
+            return rects;
+        }
+        spare.addAll(rects);
+        rects.clear();
+        int previousRow = 0;
+        for (int row = 0; row < rows; row++) {
+            int rowStart = rects.size();
+            int y = row * TILE;
+            int h = Math.min(y + TILE, height) - y;
+            int col = 0;
+            while (col < cols) {
+                if (!tiles[row * cols + col]) {
+                    col++;
+                    continue;
+                }
+                int end = col;
+                while (end < cols && tiles[row * cols + end]) {
+                    end++;
+                }
+                int x = col * TILE;
+                int w = Math.min(end * TILE, width) - x;
+                if (!extend(previousRow, rowStart, x, y, w, h)) {
+                    Rectangle r = spare.isEmpty() ? new Rectangle() : spare.remove(spare.size() - 1);
+                    r.setBounds(x, y, w, h);
+                    rects.add(r);
+                }
+                col = end;
+            }
+            // Rectangles that did not reach this row are finished; keep the ones that did at the end
+            int open = rowStart;
+            for (int i = rowStart - 1; i >= previousRow; i--) {
+                Rectangle r = rects.get(i);
+                if (r.y + r.height == y + h) {
+                    rects.remove(i);
+                    rects.add(r);
+                    open--;
+                }
+            }
+            previousRow = open;
+        }
+        merged = true;
+        return rects;
+    }
+
+    // Grows a rectangle ending on the row above when it spans exactly the same columns
+    private boolean extend(int from, int to, int x, int y, int w, int h) {
+        for (int i = from; i < to; i++) {
+            Rectangle r = rects.get(i);
+            if (r.x == x && r.width == w && r.y + r.height == y) {
+                r.height += h;
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -2,7 +2,6 @@ package game.obj;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
-import java.awt.Shape;
 import java.awt.geom.Rectangle2D;
 
 public class HpRender {
@@ -13,9 +12,9 @@ public class HpRender {
         this.hp = hp;
     }
 
-    protected void hpRender(Graphics2D g2, Shape shape, double y) {
+    protected void hpRender(Graphics2D g2, double top, double y) {
         if (hp.getCurrentHp() != hp.getMAX_HP()) {
-            double hpY = shape.getBounds().getY() - y - 10;
+            double hpY = Math.floor(top) - y - 10;
             g2.setColor(new Color(70, 70, 70));
             g2.fill(new Rectangle2D.Double(0, hpY, Player.PLAYER_SIZE, 2));
             g2.setColor(new Color(253, 91, 91));
@@ -24,6 +23,14 @@ public class HpRender {
         }
     }
 
+    // Screen area of the bar hpRender draws once translated to (drawX, drawY)
+    protected void addHpBounds(DirtyRegion region, double top, double y, double drawX, double drawY) {
+        if (hp.getCurrentHp() != hp.getMAX_HP()) {
+            double hpY = drawY + Math.floor(top) - y - 10;
+            region.add((int) Math.floor(drawX), (int) Math.floor(hpY), (int) Player.PLAYER_SIZE + 2, 3);
+        }
+    }
+
     public boolean updateHP(double cutHP) {
         hp.setCurrentHp(hp.getCurrentHp() - cutHP);
         return hp.getCurrentHp() > 0;
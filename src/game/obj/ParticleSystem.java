@@ -0,0 +1,198 @@
+package game.obj;
+
+import game.engine.GameLoop;
+import game.engine.Parallel;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Explosion sparks stored as parallel primitive columns instead of one object
+ * per spark. The sparks of a burst spread evenly around the origin with a
+ * random angular jitter and size, fly outwards at the burst speed and fade
+ * over the last 70% of their distance.
+ * Direction vectors are computed once at emit time and the fade is computed
+ * once per tick, so drawing is a single fillRect per spark.
+ */
+public class ParticleSystem {
+
+    private static final int ALPHA_LEVELS = 32;
+    private static final int MAX_COLORS = 64;
+    private static final int PARALLEL_GRAIN = 4096;
+
+    private final Random random;
+    private final Color[] palette = new Color[MAX_COLORS];
+    // Pre-faded copies of each palette colour, indexed by colour then alpha level
+    private final Color[][] faded = new Color[MAX_COLORS][];
+    private int colors;
+
+    private float[] originX;
+    private float[] originY;
+    private float[] dirX;
+    private float[] dirY;
+    private float[] size;
+    private float[] distance;
+    private float[] prevDistance;
+    private float[] maxDistance;
+    private float[] speed;
+    private float[] alpha;
+    private int[] color;
+    private int count;
+    private final Parallel.RangeTask integrateTask = (chunk, from, to) -> integrate(from, to);
+
+    public ParticleSystem(int capacity, Random random) {
+        this.random = random;
+        allocate(Math.max(16, capacity));
+    }
+
+    public void emit(double x, double y, int totalEffect, int maxSize, double maxDistance, float speed, Color color) {
+        ensureCapacity(count + totalEffect);
+        int colorIndex = colorIndex(color);
+        float per = 360f / totalEffect;
+        // Past 360 sparks the slices are under a degree wide; keep the jitter at least one
+        int jitter = Math.max(1, (int) per);
+        for (int i = 1; i <= totalEffect; i++) {
+            int r = random.nextInt(jitter) + 1;
+            int boomSize = random.nextInt(maxSize) + 1;
+            double angle = Math.toRadians(i * per + r);
+            int p = count++;
+            originX[p] = (float) x;
+            originY[p] = (float) y;
+            dirX[p] = (float) Math.cos(angle);
+            dirY[p] = (float) Math.sin(angle);
+            size[p] = boomSize;
+            distance[p] = 0;
+            prevDistance[p] = 0;
+            this.maxDistance[p] = (float) maxDistance;
+            this.speed[p] = speed;
+            alpha[p] = 1f;
+            this.color[p] = colorIndex;
+        }
+    }
+
+    public void update() {
+        integrate(0, count);
+        compact();
+    }
+
+    // Same result as update(), with the particles advanced in parallel chunks
+    public void update(Parallel parallel) {
+        parallel.forEach(count, PARALLEL_GRAIN, integrateTask);
+        compact();
+    }
+
+    private void integrate(int from, int to) {
+        float dt = (float) GameLoop.TICK_MILLIS;
+        float[] distance = this.distance;
+        float[] prevDistance = this.prevDistance;
+        float[] speed = this.speed;
+        float[] maxDistance = this.maxDistance;
+        float[] alpha = this.alpha;
+        // Straight-line loops over primitive columns so the JIT can vectorise them
+        for (int i = from; i < to; i++) {
+            prevDistance[i] = distance[i];
+            distance[i] += speed[i] * dt;
+        }
+        for (int i = from; i < to; i++) {
+            float max = maxDistance[i];
+            float fade = (max - distance[i]) / (max * 0.7f);
+            alpha[i] = Math.max(0f, Math.min(1f, fade));
+        }
+    }
+
+    // Drop finished sparks, keeping the rest in emit order so draw order is stable
+    private void compact() {
+        int n = count;
+        int live = 0;
+        for (int i = 0; i < n; i++) {
+            if (distance[i] < maxDistance[i]) {
+                if (live != i) {
+                    originX[live] = originX[i];
+                    originY[live] = originY[i];
+                    dirX[live] = dirX[i];
+                    dirY[live] = dirY[i];
+                    size[live] = size[i];
+                    distance[live] = distance[i];
+                    prevDistance[live] = prevDistance[i];
+                    maxDistance[live] = maxDistance[i];
+                    speed[live] = speed[i];
+                    alpha[live] = alpha[i];
+                    color[live] = color[i];
+                }
+                live++;
+            }
+        }
+        count = live;
+    }
+
+    public void draw(Graphics2D g2, float interpolation) {
+        for (int i = 0; i < count; i++) {
+            float d = prevDistance[i] + (distance[i] - prevDistance[i]) * interpolation;
+            float s = size[i];
+            int level = (int) (alpha[i] * (ALPHA_LEVELS - 1) + 0.5f);
+            g2.setColor(faded[color[i]][level]);
+            g2.fillRect((int) (originX[i] + dirX[i] * d - s / 2), (int) (originY[i] + dirY[i] * d - s / 2), (int) s, (int) s);
+        }
+    }
+
+    // Adds the squares draw fills at the same interpolation
+    public void addBounds(DirtyRegion region, float interpolation) {
+        for (int i = 0; i < count; i++) {
+            float d = prevDistance[i] + (distance[i] - prevDistance[i]) * interpolation;
+            float s = size[i];
+            region.add((int) (originX[i] + dirX[i] * d - s / 2), (int) (originY[i] + dirY[i] * d - s / 2), (int) s, (int) s);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    private int colorIndex(Color c) {
+        for (int i = 0; i < colors; i++) {
+            if (palette[i] == c || palette[i].equals(c)) {
+                return i;
+            }
+        }
+        if (colors == MAX_COLORS) {
+            throw new IllegalStateException("Too many particle colours");
+        }
+        Color[] levels = new Color[ALPHA_LEVELS];
+        for (int level = 0; level < ALPHA_LEVELS; level++) {
+            int a = Math.round(c.getAlpha() * level / (float) (ALPHA_LEVELS - 1));
+            levels[level] = new Color(c.getRed(), c.getGreen(), c.getBlue(), a);
+        }
+        palette[colors] = c;
+        faded[colors] = levels;
+        return colors++;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > originX.length) {
+            allocate(Math.max(required, originX.length * 2));
+        }
+    }
+
+    private void allocate(int capacity) {
+        originX = grow(originX, capacity);
+        originY = grow(originY, capacity);
+        dirX = grow(dirX, capacity);
+        dirY = grow(dirY, capacity);
+        size = grow(size, capacity);
+        distance = grow(distance, capacity);
+        prevDistance = grow(prevDistance, capacity);
+        maxDistance = grow(maxDistance, capacity);
+        speed = grow(speed, capacity);
+        alpha = grow(alpha, capacity);
+        color = color == null ? new int[capacity] : Arrays.copyOf(color, capacity);
+    }
+
+    private static float[] grow(float[] column, int capacity) {
+        return column == null ? new float[capacity] : Arrays.copyOf(column, capacity);
+    }
+}
@@ -1,37 +1,42 @@
 package game.obj;
 
+import game.collision.Hull;
+import game.collision.HullShape;
+import game.engine.GameLoop;
 import java.awt.Graphics2D;
-import java.awt.Image;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
 import java.awt.geom.Path2D;
-import java.io.InputStream;
-import javax.swing.ImageIcon;
 
 public class Player extends HpRender {
 
-    public Player(InputStream is) {
+    public Player() {
         super(new HP(50, 50));
-        this.image = new ImageIcon(getClass().getResource("/game/image/plane.png")).getImage();
-        this.image_speed = new ImageIcon(getClass().getResource("/game/image/plane_speed.png")).getImage();
+    }
+
+    private static Path2D createOutline() {
         Path2D p = new Path2D.Double();
         p.moveTo(0, 15);
         p.lineTo(20, 5);
         p.lineTo(PLAYER_SIZE + 15, PLAYER_SIZE / 2);
         p.lineTo(20, PLAYER_SIZE - 5);
         p.lineTo(0, PLAYER_SIZE - 15);
-        playerShap = new Area(p);
+        return p;
     }
 
     public static final double PLAYER_SIZE = 64;
+    // Outline and hull prototype shared by every player
+    private static final Area OUTLINE = new Area(createOutline());
+    private static final HullShape HULL_SHAPE = new HullShape(createOutline(), PLAYER_SIZE / 2, PLAYER_SIZE / 2);
     private double x;
     private double y;
+    private double prevX;
+    private double prevY;
+    private float prevAngle;
     private final float MAX_SPEED = 1f;
     private float speed = 0f;
     private float angle = 0f;
-    private final Area playerShap;
-    private final Image image;
-    private final Image image_speed;
+    private final Hull hull = new Hull(HULL_SHAPE);
     private boolean speedUp;
     private boolean alive = true;
 
@@ -40,7 +45,16 @@ public class Player extends HpRender {
         this.y = y;
     }
 
+    public void resetInterpolation() {
+        prevX = x;
+        prevY = y;
+        prevAngle = angle;
+    }
+
     public void update() {
+        prevX = x;
+        prevY = y;
+        prevAngle = angle;
         x += Math.cos(Math.toRadians(angle)) * speed;
         y += Math.sin(Math.toRadians(angle)) * speed;
     }
@@ -54,21 +68,36 @@ public class Player extends HpRender {
         this.angle = angle;
     }
 
-    public void draw(Graphics2D g2) {
+    public void draw(Graphics2D g2, float interpolation) {
+        double drawX = prevX + (x - prevX) * interpolation;
+        double drawY = prevY + (y - prevY) * interpolation;
+        float drawAngle = GameLoop.interpolateAngle(prevAngle, angle, interpolation);
+        Assets.playerSprite(speedUp).draw(g2, drawX, drawY, drawAngle);
         AffineTransform oldTransform = g2.getTransform();
-        g2.translate(x, y);
-        AffineTransform tran = new AffineTransform();
-        tran.rotate(Math.toRadians(angle + 45), PLAYER_SIZE / 2, PLAYER_SIZE / 2);
-        g2.drawImage(speedUp ? image_speed : image, tran, null);
-        hpRender(g2, getShape(), y);
+        g2.translate(drawX, drawY);
+        hpRender(g2, getHull().getMinY(), y);
         g2.setTransform(oldTransform);
     }
 
+    // Adds the screen area draw covers at the same interpolation
+    public void addBounds(DirtyRegion region, float interpolation) {
+        double drawX = prevX + (x - prevX) * interpolation;
+        double drawY = prevY + (y - prevY) * interpolation;
+        Assets.playerSprite(speedUp).addBounds(region, drawX, drawY);
+        addHpBounds(region, getHull().getMinY(), y, drawX, drawY);
+    }
+
     public Area getShape() {
         AffineTransform afx = new AffineTransform();
         afx.translate(x, y);
         afx.rotate(Math.toRadians(angle), PLAYER_SIZE / 2, PLAYER_SIZE / 2);
-        return new Area(afx.createTransformedShape(playerShap));
+        return new Area(afx.createTransformedShape(OUTLINE));
+    }
+
+    // Transformed outline, recomputed only after the player has moved or turned
+    public Hull getHull() {
+        hull.update(x, y, angle);
+        return hull;
     }
 
     public double getX() {
@@ -0,0 +1,84 @@
+package game.obj;
+
+import java.util.function.Supplier;
+
+/**
+ * Bounded free list for game objects that are recycled instead of discarded.
+ * Objects returned while the pool is full are left to the garbage collector.
+ * Not thread-safe; pools are only touched from the game loop.
+ */
+public class Pool<T> {
+
+    private final Supplier<T> factory;
+    private final Object[] free;
+    private int freeCount;
+    private int inUse;
+    private int highWater;
+    private long hits;
+    private long misses;
+
+    public Pool(int capacity, Supplier<T> factory) {
+        this.factory = factory;
+        this.free = new Object[capacity];
+    }
+
+    // Pre-allocate so the first burst of a session does not miss
+    public void fill(int count) {
+        while (freeCount < free.length && count-- > 0) {
+            free[freeCount++] = factory.get();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T obtain() {
+        inUse++;
+        if (inUse > highWater) {
+            highWater = inUse;
+        }
+        if (freeCount > 0) {
+            hits++;
+            T item = (T) free[--freeCount];
+            free[freeCount] = null;
+            return item;
+        }
+        misses++;
+        return factory.get();
+    }
+
+    public void free(T item) {
+        inUse--;
+        if (freeCount < free.length) {
+            free[freeCount++] = item;
+        }
+    }
+
+    public int getCapacity() {
+        return free.length;
+    }
+
+    public int getFree() {
+        return freeCount;
+    }
+
+    public int getInUse() {
+        return inUse;
+    }
+
+    public int getHighWater() {
+        return highWater;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d misses=%d inUse=%d highWater=%d free=%d/%d",
+                hits, misses, inUse, highWater, freeCount, free.length);
+    }
+}
@@ -1,19 +1,20 @@
 package game.obj;
 
+import game.collision.Hull;
+import game.collision.HullShape;
+import game.engine.GameLoop;
 import java.awt.Graphics2D;
-import java.awt.Image;
-import java.awt.Rectangle;
-import java.awt.Shape;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
 import java.awt.geom.Path2D;
-import javax.swing.ImageIcon;
 
 public class Rocket extends HpRender {
 
     public Rocket() {
         super(new HP(20, 20));
-        this.image = new ImageIcon(getClass().getResource("/game/image/rocket.png")).getImage();
+    }
+
+    private static Path2D createOutline() {
         Path2D p = new Path2D.Double();
         p.moveTo(0, ROCKET_SIZE / 2);
         p.lineTo(15, 10);
@@ -21,25 +22,53 @@ public class Rocket extends HpRender {
         p.lineTo(ROCKET_SIZE + 10, ROCKET_SIZE / 2);
         p.lineTo(ROCKET_SIZE - 5, ROCKET_SIZE - 13);
         p.lineTo(15, ROCKET_SIZE - 10);
-        rocketShap = new Area(p);
+        return p;
     }
 
     public static final double ROCKET_SIZE = 50;
+    // Pixels per second
+    public static final float DEFAULT_SPEED = 60;
+    // Outline and hull prototype shared by every rocket
+    private static final Area OUTLINE = new Area(createOutline());
+    private static final HullShape HULL_SHAPE = new HullShape(createOutline(), ROCKET_SIZE / 2, ROCKET_SIZE / 2);
     private double x;
     private double y;
-    private final float speed = 0.3f;
+    private double prevX;
+    private double prevY;
+    private float prevAngle;
+    private float speed = DEFAULT_SPEED;
     private float angle = 0;
-    private final Image image;
-    private final Area rocketShap;
+    // Movement per tick, recomputed when the angle or speed changes
+    private double stepX;
+    private double stepY;
+    private final Hull hull = new Hull(HULL_SHAPE);
+
+    // Readies a new or recycled rocket: full health, placed and heading the given way
+    public void init(double x, double y, float angle, float speed) {
+        resetHP();
+        this.speed = speed;
+        changeLocation(x, y);
+        changeAngle(angle);
+        resetInterpolation();
+    }
 
     public void changeLocation(double x, double y) {
         this.x = x;
         this.y = y;
     }
 
+    public void resetInterpolation() {
+        prevX = x;
+        prevY = y;
+        prevAngle = angle;
+    }
+
     public void update() {
-        x += Math.cos(Math.toRadians(angle)) * speed;
-        y += Math.sin(Math.toRadians(angle)) * speed;
+        prevX = x;
+        prevY = y;
+        prevAngle = angle;
+        x += stepX;
+        y += stepY;
     }
 
     public void changeAngle(float angle) {
@@ -49,19 +78,29 @@ public class Rocket extends HpRender {
             angle = 0;
         }
         this.angle = angle;
+        stepX = Math.cos(Math.toRadians(angle)) * speed * GameLoop.TICK_MILLIS / 1000;
+        stepY = Math.sin(Math.toRadians(angle)) * speed * GameLoop.TICK_MILLIS / 1000;
     }
 
-    public void draw(Graphics2D g2) {
+    public void draw(Graphics2D g2, float interpolation) {
+        double drawX = prevX + (x - prevX) * interpolation;
+        double drawY = prevY + (y - prevY) * interpolation;
+        float drawAngle = GameLoop.interpolateAngle(prevAngle, angle, interpolation);
+        Assets.rocketSprite().draw(g2, drawX, drawY, drawAngle);
         AffineTransform oldTransform = g2.getTransform();
-        g2.translate(x, y);
-        AffineTransform tran = new AffineTransform();
-        tran.rotate(Math.toRadians(angle + 45), ROCKET_SIZE / 2, ROCKET_SIZE / 2);
-        g2.drawImage(image, tran, null);
-        Shape shap = getShape();
-        hpRender(g2, shap, y);
+        g2.translate(drawX, drawY);
+        hpRender(g2, getHull().getMinY(), y);
         g2.setTransform(oldTransform);
     }
 
+    // Adds the screen area draw covers at the same interpolation
+    public void addBounds(DirtyRegion region, float interpolation) {
+        double drawX = prevX + (x - prevX) * interpolation;
+        double drawY = prevY + (y - prevY) * interpolation;
+        Assets.rocketSprite().addBounds(region, drawX, drawY);
+        addHpBounds(region, getHull().getMinY(), y, drawX, drawY);
+    }
+
     public double getX() {
         return x;
     }
@@ -78,12 +117,20 @@ public class Rocket extends HpRender {
         AffineTransform afx = new AffineTransform();
         afx.translate(x, y);
         afx.rotate(Math.toRadians(angle), ROCKET_SIZE / 2, ROCKET_SIZE / 2);
-        return new Area(afx.createTransformedShape(rocketShap));
+        return new Area(afx.createTransformedShape(OUTLINE));
+    }
+
+    // Transformed outline, recomputed only after the rocket has moved or turned
+    public Hull getHull() {
+        hull.update(x, y, angle);
+        return hull;
     }
 
     public boolean check(int width, int height) {
-        Rectangle size = getShape().getBounds();
-        return !(x <= -size.getWidth() || y < -size.getHeight() || x > width || y > height);
+        Hull bounds = getHull();
+        double sizeWidth = bounds.getMaxX() - bounds.getMinX();
+        double sizeHeight = bounds.getMaxY() - bounds.getMinY();
+        return !(x <= -sizeWidth || y < -sizeHeight || x > width || y > height);
     }
 
 }
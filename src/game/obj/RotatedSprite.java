@@ -0,0 +1,158 @@
+package game.obj;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * An image pre-rendered at a fixed number of rotation angles, so drawing is a
+ * plain untransformed blit instead of a resample every frame. Each angle is
+ * rendered on first use; {@link #prerender()} renders them all up front.
+ * Frames are square and centred on the rotation pivot. When the back buffer
+ * is scaled (see {@link #setScale}) frames are rendered at the buffer's
+ * resolution, so they are still copied pixel for pixel.
+ */
+public class RotatedSprite {
+
+    // Number of angle buckets for new sprites; -Drocket.spriteAngles=N to change
+    public static final int ANGLES = Math.max(1, Integer.getInteger("rocket.spriteAngles", 360));
+
+    // Back buffer pixels per logical pixel, shared by every sprite
+    private static double scaleX = 1;
+    private static double scaleY = 1;
+
+    private final Image source;
+    private final double pivotX;
+    private final double pivotY;
+    private final float angleOffset;
+    private final int half;
+    private final BufferedImage[] frames;
+    // Scale the frames were rendered at, and the transform that places a scaled frame
+    private double frameScaleX = 1;
+    private double frameScaleY = 1;
+    private final AffineTransform place = new AffineTransform();
+
+    // pivotX/pivotY are in the source image's coordinates; angleOffset is added to every angle drawn
+    public RotatedSprite(Image source, double pivotX, double pivotY, float angleOffset, int angles) {
+        this.source = source;
+        this.pivotX = pivotX;
+        this.pivotY = pivotY;
+        this.angleOffset = angleOffset;
+        int w = source.getWidth(null);
+        int h = source.getHeight(null);
+        double radius = Math.max(Math.max(Math.hypot(pivotX, pivotY), Math.hypot(w - pivotX, pivotY)),
+                Math.max(Math.hypot(pivotX, h - pivotY), Math.hypot(w - pivotX, h - pivotY)));
+        this.half = (int) Math.ceil(radius) + 1;
+        this.frames = new BufferedImage[angles];
+    }
+
+    public RotatedSprite(Image source, double pivotX, double pivotY, float angleOffset) {
+        this(source, pivotX, pivotY, angleOffset, ANGLES);
+    }
+
+    // Renders a filled shape as the source image, for sprites that are drawn rather than loaded
+    public static RotatedSprite of(Shape shape, Color color, double pivotX, double pivotY) {
+        Rectangle2D bounds = shape.getBounds2D();
+        int w = (int) Math.ceil(bounds.getMaxX()) + 1;
+        int h = (int) Math.ceil(bounds.getMaxY()) + 1;
+        BufferedImage image = Assets.compatibleImage(w, h, Transparency.TRANSLUCENT);
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setColor(color);
+        g2.fill(shape);
+        g2.dispose();
+        return new RotatedSprite(image, pivotX, pivotY, 0);
+    }
+
+    // Called with the scale the graphics passed to draw will have; frames rendered at another scale are dropped
+    public static void setScale(double scaleX, double scaleY) {
+        RotatedSprite.scaleX = scaleX;
+        RotatedSprite.scaleY = scaleY;
+    }
+
+    public void prerender() {
+        for (int i = 0; i < frames.length; i++) {
+            frame(i);
+        }
+    }
+
+    // Draws the sprite as if the source image were placed at (x, y) and rotated by angle degrees about the pivot
+    public void draw(Graphics2D g2, double x, double y, float angle) {
+        if (frameScaleX != scaleX || frameScaleY != scaleY) {
+            Arrays.fill(frames, null);
+            frameScaleX = scaleX;
+            frameScaleY = scaleY;
+        }
+        BufferedImage frame = frame(bucket(angle));
+        int left = (int) Math.round(x + pivotX) - half;
+        int top = (int) Math.round(y + pivotY) - half;
+        if (scaleX == 1 && scaleY == 1) {
+            g2.drawImage(frame, left, top, null);
+            return;
+        }
+        // Undo the graphics' scale and snap to a buffer pixel, which keeps the copy a plain blit
+        place.setTransform(1 / scaleX, 0, 0, 1 / scaleY, Math.round(left * scaleX) / scaleX, Math.round(top * scaleY) / scaleY);
+        g2.drawImage(frame, place, null);
+    }
+
+    // Adds the area draw would cover for the same position to the region
+    public void addBounds(DirtyRegion region, double x, double y) {
+        region.add((int) Math.round(x + pivotX) - half, (int) Math.round(y + pivotY) - half, half * 2, half * 2);
+    }
+
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    public int getRenderedFrames() {
+        int rendered = 0;
+        for (BufferedImage frame : frames) {
+            if (frame != null) {
+                rendered++;
+            }
+        }
+        return rendered;
+    }
+
+    public long getBytes() {
+        long bytes = 0;
+        for (BufferedImage frame : frames) {
+            bytes += Assets.bytes(frame);
+        }
+        return bytes;
+    }
+
+    private int bucket(float angle) {
+        double turns = (angle + angleOffset) / 360.0;
+        turns -= Math.floor(turns);
+        int bucket = (int) Math.round(turns * frames.length);
+        return bucket == frames.length ? 0 : bucket;
+    }
+
+    private BufferedImage frame(int bucket) {
+        BufferedImage frame = frames[bucket];
+        if (frame == null) {
+            frame = Assets.compatibleImage((int) Math.ceil(half * 2 * frameScaleX), (int) Math.ceil(half * 2 * frameScaleY),
+                    Transparency.TRANSLUCENT);
+            Graphics2D g2 = frame.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2.scale(frameScaleX, frameScaleY);
+            g2.translate(half, half);
+            g2.rotate(Math.PI * 2 * bucket / frames.length);
+            g2.translate(-pivotX, -pivotY);
+            g2.drawImage(source, 0, 0, null);
+            g2.dispose();
+            frames[bucket] = frame;
+        }
+        return frame;
+    }
+}
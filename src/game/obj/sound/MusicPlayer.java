@@ -0,0 +1,160 @@
+package game.obj.sound;
+
+import java.io.IOException;
+import java.net.URL;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Streams a looping music track to its own output line from a low-priority
+ * thread, a small chunk at a time, so the track is never held in memory.
+ * At the end of the file the stream is reopened while the line keeps
+ * playing what is already queued, which makes the loop seamless. The line
+ * stays open between games; pausing only stops it.
+ */
+public class MusicPlayer {
+
+    // About 46 ms of 44.1 kHz stereo audio per chunk; the line queues two chunks
+    private static final int CHUNK_BYTES = 8192;
+
+    private final URL url;
+    private final Object lock = new Object();
+    private boolean playing;
+    private boolean rewind;
+    private boolean closed;
+    private Thread thread;
+
+    public MusicPlayer(URL url) {
+        this.url = url;
+    }
+
+    // Plays from the beginning
+    public void play() {
+        synchronized (lock) {
+            rewind = true;
+            playing = true;
+            startThread();
+            lock.notifyAll();
+        }
+    }
+
+    public void pause() {
+        synchronized (lock) {
+            playing = false;
+        }
+    }
+
+    public void resume() {
+        synchronized (lock) {
+            if (thread != null) {
+                playing = true;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    // Stops and rewinds; the next play() starts from the beginning
+    public void stop() {
+        synchronized (lock) {
+            playing = false;
+            rewind = true;
+        }
+    }
+
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+    }
+
+    private void startThread() {
+        if (thread != null || url == null) {
+            return;
+        }
+        thread = new Thread(this::run, "music");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    private void run() {
+        byte[] chunk = new byte[CHUNK_BYTES];
+        AudioInputStream in = null;
+        SourceDataLine line = null;
+        try {
+            while (true) {
+                synchronized (lock) {
+                    while (!playing && !closed) {
+                        if (line != null) {
+                            line.stop();
+                        }
+                        lock.wait();
+                    }
+                    if (closed) {
+                        break;
+                    }
+                    if (rewind) {
+                        rewind = false;
+                        if (in != null) {
+                            in.close();
+                            in = null;
+                        }
+                        if (line != null) {
+                            line.flush();
+                        }
+                    }
+                }
+                if (in == null) {
+                    in = open();
+                }
+                if (line == null) {
+                    line = AudioSystem.getSourceDataLine(in.getFormat());
+                    line.open(in.getFormat(), CHUNK_BYTES * 2);
+                }
+                if (!line.isRunning()) {
+                    line.start();
+                }
+                int n = in.read(chunk);
+                if (n < 0) {
+                    // End of the track: reopen and keep feeding the same line
+                    in.close();
+                    in = null;
+                    continue;
+                }
+                line.write(chunk, 0, n);
+            }
+        } catch (IOException | UnsupportedAudioFileException | LineUnavailableException | IllegalArgumentException e) {
+            System.err.println("Error playing background music: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (line != null) {
+                line.close();
+            }
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    System.err.println("Error closing background music: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Compressed or non-PCM files are decoded on the fly to 16-bit PCM
+    private AudioInputStream open() throws IOException, UnsupportedAudioFileException {
+        AudioInputStream in = AudioSystem.getAudioInputStream(url);
+        AudioFormat format = in.getFormat();
+        if (format.getEncoding() == AudioFormat.Encoding.PCM_SIGNED
+                || format.getEncoding() == AudioFormat.Encoding.PCM_UNSIGNED) {
+            return in;
+        }
+        AudioFormat pcm = new AudioFormat(format.getSampleRate(), 16, format.getChannels(), true, false);
+        return AudioSystem.getAudioInputStream(pcm, in);
+    }
+}
@@ -2,88 +2,118 @@ package game.obj.sound;
 
 import java.io.IOException;
 import java.net.URL;
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
-import javax.sound.sampled.LineEvent;
-import javax.sound.sampled.LineUnavailableException;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.sound.sampled.UnsupportedAudioFileException;
 
 public class Sound {
 
-    private final URL shoot;
-    private final URL hit;
-    private final URL destroy;
-    private final URL bigBullet; // New sound for big bullet
-    private final URL backgroundMusic;
-    private Clip backgroundClip; // Store the clip for background music to control it
+    // Effects, decoded once and played through the mixer
+    private static final int SHOOT = 0;
+    private static final int HIT = 1;
+    private static final int DESTROY = 2;
+    private static final int BIG_BULLET = 3;
+    private static final String[] EFFECTS = {
+        "game/obj/sound/shoot.wav",
+        "game/obj/sound/hit.wav",
+        "game/obj/sound/destroy.wav",
+        "game/obj/sound/bad-explosion-6855.wav"
+    };
+    // Voices each effect may use at once
+    private static final int[] VOICE_LIMITS = {4, 4, 4, 2};
+
+    private final SoundMixer mixer;
+    private final MusicPlayer music;
+    private final AtomicLong triggers = new AtomicLong();
 
     public Sound() {
-        this.shoot = this.getClass().getClassLoader().getResource("game/obj/sound/shoot.wav");
-        this.hit = this.getClass().getClassLoader().getResource("game/obj/sound/hit.wav");
-        this.destroy = this.getClass().getClassLoader().getResource("game/obj/sound/destroy.wav");
-        this.bigBullet = this.getClass().getClassLoader().getResource("game/obj/sound/bad-explosion-6855.wav");
-        this.backgroundMusic = this.getClass().getClassLoader().getResource("game/obj/sound/zt-byte-blast-163367.wav");
+        this(true);
+    }
+
+    // A disabled Sound ignores every call, for runs without an audio device
+    public Sound(boolean enabled) {
+        if (enabled) {
+            short[][] samples = new short[EFFECTS.length][];
+            for (int i = 0; i < EFFECTS.length; i++) {
+                samples[i] = load(EFFECTS[i]);
+            }
+            mixer = new SoundMixer(samples, VOICE_LIMITS);
+            mixer.start();
+            URL backgroundMusic = getClass().getClassLoader().getResource("game/obj/sound/zt-byte-blast-163367.wav");
+            if (backgroundMusic == null) {
+                System.err.println("Background music not found");
+            }
+            music = new MusicPlayer(backgroundMusic);
+        } else {
+            mixer = null;
+            music = null;
+        }
     }
 
     public void soundShoot() {
-        play(shoot);
+        play(SHOOT);
     }
 
     public void soundHit() {
-        play(hit);
+        play(HIT);
     }
 
     public void soundDestroy() {
-        play(destroy);
+        play(DESTROY);
     }
 
     public void soundBigBullet() {
-        play(bigBullet);
+        play(BIG_BULLET);
     }
 
-    private void play(URL url) {
+    // Safe to call from any thread at any rate; never blocks
+    private void play(int effect) {
+        triggers.incrementAndGet();
+        if (mixer != null) {
+            mixer.trigger(effect);
+        }
+    }
+
+    // Effects triggered so far, including those a disabled Sound ignored
+    public long getTriggerCount() {
+        return triggers.get();
+    }
+
+    private short[] load(String path) {
+        URL url = getClass().getClassLoader().getResource(path);
+        if (url == null) {
+            System.err.println("Sound file not found: " + path);
+            return new short[0];
+        }
         try {
-            if (url == null) {
-                System.err.println("Sound file not found!");
-                return;
-            }
-            Clip clip;
-            try (AudioInputStream audioIn = AudioSystem.getAudioInputStream(url)) {
-                clip = AudioSystem.getClip();
-                clip.open(audioIn);
-                clip.addLineListener((LineEvent event) -> {
-                    if (event.getType() == LineEvent.Type.STOP) {
-                        clip.close();
-                    }
-                });
-            }
-            clip.start();
-        } catch (IOException | LineUnavailableException | UnsupportedAudioFileException e) {
-            System.err.println("Error playing sound: " + e.getMessage());
+            return SoundMixer.decode(url);
+        } catch (IOException | UnsupportedAudioFileException e) {
+            System.err.println("Error loading sound " + path + ": " + e.getMessage());
+            return new short[0];
         }
     }
 
+    // Restarts the music from the beginning
     public void playBackgroundMusic() {
-        try {
-            if (backgroundClip != null && backgroundClip.isRunning()) {
-                backgroundClip.stop(); // Stop if already playing
-            }
-            try (AudioInputStream audioIn = AudioSystem.getAudioInputStream(backgroundMusic)) {
-                backgroundClip = AudioSystem.getClip();
-                backgroundClip.open(audioIn);
-                backgroundClip.loop(Clip.LOOP_CONTINUOUSLY); // Loop indefinitely
-            }
-            backgroundClip.start();
-        } catch (IOException | LineUnavailableException | UnsupportedAudioFileException e) {
-            System.err.println("Error playing background music: " + e.getMessage());
+        if (music != null) {
+            music.play();
+        }
+    }
+
+    public void pauseBackgroundMusic() {
+        if (music != null) {
+            music.pause();
+        }
+    }
+
+    public void resumeBackgroundMusic() {
+        if (music != null) {
+            music.resume();
         }
     }
 
     public void stopBackgroundMusic() {
-        if (backgroundClip != null && backgroundClip.isRunning()) {
-            backgroundClip.stop();
-            backgroundClip.close();
+        if (music != null) {
+            music.stop();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+package game.obj.sound;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Mixes pre-decoded sound effects in software into a single output line.
+ * A fixed set of voices plays the effects; each effect has its own voice
+ * limit, and a new trigger past that limit, or with every voice busy,
+ * restarts the voice that has played the longest. {@link #trigger(int)} only
+ * bumps a counter the mixer thread picks up on its next block, so it never
+ * blocks or allocates.
+ */
+public class SoundMixer {
+
+    public static final AudioFormat FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+    // About 6 ms per block; the line holds four blocks
+    private static final int BLOCK_FRAMES = 256;
+    private static final int LINE_BLOCKS = 4;
+    private static final int MAX_VOICES = 16;
+
+    private final short[][] samples;
+    private final int[] limits;
+    private final AtomicIntegerArray pending;
+
+    // Voice state, touched only by the mixer thread
+    private final int[] voiceSound = new int[MAX_VOICES];
+    private final int[] voicePosition = new int[MAX_VOICES];
+    private final int[] mix = new int[BLOCK_FRAMES * 2];
+    private final byte[] out = new byte[BLOCK_FRAMES * 4];
+
+    private SourceDataLine line;
+    private Thread thread;
+    private volatile boolean running;
+
+    // samples[i] is interleaved stereo PCM in FORMAT; limits[i] caps how many voices sound i may use at once
+    public SoundMixer(short[][] samples, int[] limits) {
+        this.samples = samples;
+        this.limits = limits;
+        this.pending = new AtomicIntegerArray(samples.length);
+        for (int i = 0; i < MAX_VOICES; i++) {
+            voiceSound[i] = -1;
+        }
+    }
+
+    public void start() {
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, out.length * LINE_BLOCKS);
+            line.start();
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            System.err.println("Error opening sound output: " + e.getMessage());
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "sound-mixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    public void trigger(int sound) {
+        pending.incrementAndGet(sound);
+    }
+
+    private void run() {
+        while (running) {
+            for (int i = 0; i < samples.length; i++) {
+                int count = Math.min(pending.getAndSet(i, 0), limits[i]);
+                for (int j = 0; j < count; j++) {
+                    startVoice(i);
+                }
+            }
+            mixBlock();
+            // Blocks until the line has room, which paces this thread to the output
+            line.write(out, 0, out.length);
+        }
+        line.drain();
+        line.close();
+    }
+
+    private void startVoice(int sound) {
+        int used = 0;
+        int oldestOfSound = -1;
+        int oldest = -1;
+        int free = -1;
+        for (int v = 0; v < MAX_VOICES; v++) {
+            if (voiceSound[v] < 0) {
+                free = v;
+                continue;
+            }
+            if (voiceSound[v] == sound) {
+                used++;
+                if (oldestOfSound < 0 || voicePosition[v] > voicePosition[oldestOfSound]) {
+                    oldestOfSound = v;
+                }
+            }
+            if (oldest < 0 || voicePosition[v] > voicePosition[oldest]) {
+                oldest = v;
+            }
+        }
+        int voice = used >= limits[sound] ? oldestOfSound : free >= 0 ? free : oldest;
+        voiceSound[voice] = sound;
+        voicePosition[voice] = 0;
+    }
+
+    private void mixBlock() {
+        Arrays.fill(mix, 0);
+        for (int v = 0; v < MAX_VOICES; v++) {
+            int sound = voiceSound[v];
+            if (sound < 0) {
+                continue;
+            }
+            short[] pcm = samples[sound];
+            int position = voicePosition[v];
+            int n = Math.min(mix.length, pcm.length - position);
+            for (int i = 0; i < n; i++) {
+                mix[i] += pcm[position + i];
+            }
+            position += n;
+            if (position >= pcm.length) {
+                voiceSound[v] = -1;
+            }
+            voicePosition[v] = position;
+        }
+        for (int i = 0, b = 0; i < mix.length; i++, b += 2) {
+            int s = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[i]));
+            out[b] = (byte) s;
+            out[b + 1] = (byte) (s >> 8);
+        }
+    }
+
+    // Decodes a sound file to interleaved stereo 16-bit PCM at the mixer's sample rate
+    public static short[] decode(URL url) throws IOException, UnsupportedAudioFileException {
+        short[] pcm;
+        int channels;
+        float rate;
+        try (AudioInputStream in = AudioSystem.getAudioInputStream(url)) {
+            AudioFormat source = in.getFormat();
+            channels = source.getChannels();
+            rate = source.getSampleRate();
+            AudioFormat target = new AudioFormat(rate, 16, channels, true, false);
+            try (AudioInputStream converted = AudioSystem.getAudioInputStream(target, in)) {
+                byte[] bytes = converted.readAllBytes();
+                pcm = new short[bytes.length / 2];
+                for (int i = 0; i < pcm.length; i++) {
+                    pcm[i] = (short) ((bytes[i * 2] & 0xff) | (bytes[i * 2 + 1] << 8));
+                }
+            }
+        }
+        int frames = pcm.length / channels;
+        int outFrames = (int) ((long) frames * FORMAT.getSampleRate() / rate);
+        double step = rate / FORMAT.getSampleRate();
+        short[] stereo = new short[outFrames * 2];
+        for (int f = 0; f < outFrames; f++) {
+            // Linear resampling; a no-op when the rates match
+            double at = f * step;
+            int i = (int) at;
+            double t = at - i;
+            int next = Math.min(i + 1, frames - 1);
+            for (int c = 0; c < 2; c++) {
+                int channel = Math.min(c, channels - 1);
+                double a = pcm[i * channels + channel];
+                double b = pcm[next * channels + channel];
+                stereo[f * 2 + c] = (short) Math.round(a + (b - a) * t);
+            }
+        }
+        return stereo;
+    }
+}
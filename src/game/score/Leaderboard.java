@@ -0,0 +1,70 @@
+package game.score;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The best games overall, highest first, and each player's personal best.
+ * Equal scores keep the order they were added in, so the first player to
+ * reach a score holds it. Not thread-safe.
+ */
+public class Leaderboard {
+
+    private final int size;
+    private final List<ScoreEntry> top = new ArrayList<>();
+    private final Map<String, ScoreEntry> best = new HashMap<>();
+
+    // size is how many games the top list holds
+    public Leaderboard(int size) {
+        this.size = size;
+    }
+
+    public void add(ScoreEntry entry) {
+        int i = top.size();
+        while (i > 0 && top.get(i - 1).getScore() < entry.getScore()) {
+            i--;
+        }
+        if (i < size) {
+            top.add(i, entry);
+            if (top.size() > size) {
+                top.remove(size);
+            }
+        }
+        ScoreEntry previous = best.get(entry.getName());
+        if (previous == null || entry.getScore() > previous.getScore()) {
+            best.put(entry.getName(), entry);
+        }
+    }
+
+    public List<ScoreEntry> getTop() {
+        return Collections.unmodifiableList(top);
+    }
+
+    // The highest score so far, or null before the first game
+    public ScoreEntry getLeader() {
+        return top.isEmpty() ? null : top.get(0);
+    }
+
+    // The player's best game, or null if they have not played
+    public ScoreEntry getBest(String name) {
+        return best.get(name);
+    }
+
+    public int getPlayerCount() {
+        return best.size();
+    }
+
+    // The entries a compacted log must keep to rebuild this leaderboard: the top list plus every personal best
+    public List<ScoreEntry> retained() {
+        List<ScoreEntry> entries = new ArrayList<>(top);
+        for (ScoreEntry entry : best.values()) {
+            if (!top.contains(entry)) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+}
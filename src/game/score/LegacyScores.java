@@ -0,0 +1,97 @@
+package game.score;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the score files of earlier versions so they can be imported into
+ * the score log: highscore.txt with a single {@code name:score} line, and
+ * highscores.dat, a serialized {@code ArrayList<PanelGame.HighScore>}.
+ * Neither recorded when a game was played, so entries take the file's
+ * modification time.
+ */
+class LegacyScores {
+
+    private static final String HIGH_SCORE_CLASS = "game.component.PanelGame$HighScore";
+
+    // Same fields and serialVersionUID as the old PanelGame.HighScore, which no longer exists
+    private static class HighScore implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private int score;
+        private String name;
+    }
+
+    // Maps the old class to HighScore and refuses anything but the list (with its Object[]), its entries and strings
+    private static class HighScoreInputStream extends ObjectInputStream {
+
+        HighScoreInputStream(InputStream in) throws IOException {
+            super(in);
+            setObjectInputFilter(ObjectInputFilter.Config.createFilter(
+                    "maxdepth=4;java.util.ArrayList;java.lang.Object;java.lang.String;" + HighScore.class.getName() + ";!*"));
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            ObjectStreamClass descriptor = super.readClassDescriptor();
+            if (descriptor.getName().equals(HIGH_SCORE_CLASS)) {
+                return ObjectStreamClass.lookup(HighScore.class);
+            }
+            return descriptor;
+        }
+    }
+
+    private LegacyScores() {
+    }
+
+    static List<ScoreEntry> readText(Path path) throws IOException {
+        List<ScoreEntry> entries = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return entries;
+        }
+        long time = Files.getLastModifiedTime(path).toMillis();
+        for (String line : Files.readAllLines(path)) {
+            String[] parts = line.trim().split(":");
+            if (parts.length == 2) {
+                try {
+                    entries.add(new ScoreEntry(parts[0], Integer.parseInt(parts[1]), time));
+                } catch (NumberFormatException e) {
+                    System.err.println("Skipping bad line in " + path + ": " + line);
+                }
+            }
+        }
+        return entries;
+    }
+
+    static List<ScoreEntry> readSerialized(Path path) throws IOException {
+        List<ScoreEntry> entries = new ArrayList<>();
+        if (!Files.exists(path)) {
+            return entries;
+        }
+        long time = Files.getLastModifiedTime(path).toMillis();
+        try (ObjectInputStream in = new HighScoreInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            Object list = in.readObject();
+            if (!(list instanceof List)) {
+                throw new IOException("Unexpected contents in " + path);
+            }
+            for (Object item : (List<?>) list) {
+                if (item instanceof HighScore && ((HighScore) item).name != null) {
+                    entries.add(new ScoreEntry(((HighScore) item).name, ((HighScore) item).score, time));
+                }
+            }
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Unreadable score file " + path + ": " + e.getMessage(), e);
+        }
+        return entries;
+    }
+}
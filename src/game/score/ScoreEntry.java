@@ -0,0 +1,30 @@
+package game.score;
+
+/**
+ * One finished game: who played it, the score and when it ended.
+ */
+public final class ScoreEntry {
+
+    private final String name;
+    private final int score;
+    private final long time;
+
+    // time is in milliseconds since the epoch
+    public ScoreEntry(String name, int score, long time) {
+        this.name = name;
+        this.score = score;
+        this.time = time;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public long getTime() {
+        return time;
+    }
+}
@@ -0,0 +1,287 @@
+package game.score;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps the {@link Leaderboard} in an append-only file of game records.
+ * {@link #submit} updates the leaderboard at once and hands the record to a
+ * background thread, which appends whatever has queued up in one write and
+ * one sync, so the game never waits on the disk.
+ *
+ * Each record carries its length and a CRC, so a record torn by a crash is
+ * detected on load and cut off before the next append. Once the file holds
+ * many more records than the leaderboard needs, it is rewritten with just
+ * those into a temporary file that then replaces it in one rename; either
+ * the old or the new file survives a crash. The first time the log is
+ * opened, the scores of earlier versions are imported into it; the file
+ * itself is created by the background thread like every other write.
+ */
+public class ScoreLog {
+
+    private static final int MAGIC = 0x524b4c42; // "RKLB"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 5;
+    // Compact once the file holds this many records beyond what the leaderboard keeps
+    private static final int COMPACT_SLACK = 1000;
+    private static final ScoreEntry STOP = new ScoreEntry("", 0, 0);
+
+    private final Path path;
+    private final Path temp;
+    private final Leaderboard leaderboard;
+    // The writer thread's own copy, rebuilt from what is on disk; compaction writes from it
+    private final Leaderboard written;
+    private final BlockingQueue<ScoreEntry> pending = new LinkedBlockingQueue<>();
+    private Thread writer;
+    // False until the file has loaded cleanly, so a file that is not ours is never overwritten
+    private boolean writable;
+    // Set when there is no file yet; the writer thread creates it before anything else
+    private boolean needsCreate;
+    private long validBytes;
+    private int records;
+
+    public ScoreLog(Path path, int size) {
+        this.path = path;
+        this.temp = path.resolveSibling(path.getFileName() + ".tmp");
+        this.leaderboard = new Leaderboard(size);
+        this.written = new Leaderboard(size);
+    }
+
+    // Reads the log, or creates it from the legacy files if there is none yet
+    public void load(Path legacyText, Path legacySerialized) throws IOException {
+        if (!Files.exists(path)) {
+            List<ScoreEntry> imported = new ArrayList<>();
+            try {
+                imported.addAll(LegacyScores.readText(legacyText));
+                imported.addAll(LegacyScores.readSerialized(legacySerialized));
+            } catch (IOException e) {
+                // Carry on without them rather than never creating the log
+                System.err.println("Error importing old scores: " + e.getMessage());
+            }
+            for (ScoreEntry entry : imported) {
+                leaderboard.add(entry);
+                written.add(entry);
+            }
+            needsCreate = true;
+            writable = true;
+            if (!imported.isEmpty()) {
+                System.out.println("Imported " + imported.size() + " scores into " + path);
+            }
+            return;
+        }
+        validBytes = HEADER_BYTES;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 65536))) {
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+                throw new IOException("Not a score log: " + path);
+            }
+            byte[] record = new byte[256];
+            CRC32 crc = new CRC32();
+            while (true) {
+                int length;
+                long checksum;
+                try {
+                    length = in.readUnsignedShort();
+                    if (length > record.length) {
+                        record = new byte[length];
+                    }
+                    in.readFully(record, 0, length);
+                    checksum = in.readInt() & 0xffffffffL;
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(record, 0, length);
+                if (crc.getValue() != checksum) {
+                    break;
+                }
+                ScoreEntry entry = decode(record, length);
+                leaderboard.add(entry);
+                written.add(entry);
+                validBytes += 2 + length + 4;
+                records++;
+            }
+        }
+        if (validBytes < Files.size(path)) {
+            System.err.println("Score log " + path + " has a damaged tail after " + records + " records; it will be cut off");
+        }
+        writable = true;
+    }
+
+    public void start() {
+        writer = new Thread(this::run, "score-writer");
+        writer.setDaemon(true);
+        writer.setPriority(Thread.MIN_PRIORITY);
+        writer.start();
+    }
+
+    // Writes out anything still queued; waits at most a second
+    public void close() {
+        if (writer == null) {
+            return;
+        }
+        pending.add(STOP);
+        try {
+            writer.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    // Called on the game thread when a game ends
+    public void submit(String name, int score) {
+        ScoreEntry entry = new ScoreEntry(name, score, System.currentTimeMillis());
+        leaderboard.add(entry);
+        pending.add(entry);
+    }
+
+    // Owned by the game thread
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    private void run() {
+        if (needsCreate) {
+            try {
+                compact();
+            } catch (IOException e) {
+                System.err.println("Error creating score log: " + e.getMessage());
+                writable = false;
+            }
+            needsCreate = false;
+        }
+        List<ScoreEntry> batch = new ArrayList<>();
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.add(pending.take());
+                // Let a burst of submissions land in the same write
+                ScoreEntry next = pending.poll(50, TimeUnit.MILLISECONDS);
+                if (next != null) {
+                    batch.add(next);
+                    pending.drainTo(batch);
+                }
+            } catch (InterruptedException e) {
+                stopping = true;
+            }
+            stopping |= batch.remove(STOP);
+            if (!writable) {
+                batch.clear();
+                continue;
+            }
+            try {
+                if (!batch.isEmpty()) {
+                    append(batch);
+                }
+                if (records > written.retained().size() + COMPACT_SLACK) {
+                    compact();
+                }
+            } catch (IOException e) {
+                System.err.println("Error writing score log: " + e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    private void append(List<ScoreEntry> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (ScoreEntry entry : entries) {
+            writeRecord(out, entry);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            // Drop a torn record left by a crash before appending after it
+            if (channel.size() > validBytes) {
+                channel.truncate(validBytes);
+            }
+            channel.position(validBytes);
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        validBytes += bytes.size();
+        records += entries.size();
+        for (ScoreEntry entry : entries) {
+            written.add(entry);
+        }
+    }
+
+    private void compact() throws IOException {
+        List<ScoreEntry> entries = written.retained();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        for (ScoreEntry entry : entries) {
+            writeRecord(out, entry);
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        validBytes = bytes.size();
+        records = entries.size();
+    }
+
+    // A record is its payload length, the payload (name, score, time) and a CRC32 of the payload
+    private static void writeRecord(DataOutputStream out, ScoreEntry entry) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(32);
+        DataOutputStream data = new DataOutputStream(payload);
+        data.writeUTF(entry.getName());
+        data.writeInt(entry.getScore());
+        data.writeLong(entry.getTime());
+        byte[] record = payload.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        out.writeShort(record.length);
+        out.write(record);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static ScoreEntry decode(byte[] record, int length) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record, 0, length));
+        return new ScoreEntry(in.readUTF(), in.readInt(), in.readLong());
+    }
+
+    // Default location, next to the legacy files in the working directory
+    public static ScoreLog open() {
+        ScoreLog log = new ScoreLog(Paths.get("scores.log"), 10);
+        try {
+            log.load(Paths.get("highscore.txt"), Paths.get("highscores.dat"));
+        } catch (IOException e) {
+            System.err.println("Error loading scores: " + e.getMessage());
+        }
+        log.start();
+        return log;
+    }
+}